@@ -0,0 +1,25 @@
+package io.smartip.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+class AuditWebConfig implements WebMvcConfigurer {
+
+    private final DashboardAuditLog auditLog;
+    private final boolean enabled;
+
+    AuditWebConfig(DashboardAuditLog auditLog, @Value("${audit.dashboard.enabled:true}") boolean enabled) {
+        this.auditLog = auditLog;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(new DashboardAuditInterceptor(auditLog)).addPathPatterns("/api/dashboard/**");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.smartip.audit;
+
+import io.smartip.domain.UserRole;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/** A dashboard request as audited: who, when, which endpoint and filters, and the resulting status. */
+record DashboardAccessEvent(
+        Instant occurredAt,
+        Long userId,
+        UserRole role,
+        String method,
+        String path,
+        Map<String, List<String>> filters,
+        int status) {}
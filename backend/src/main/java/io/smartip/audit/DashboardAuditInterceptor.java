@@ -0,0 +1,61 @@
+package io.smartip.audit;
+
+import io.smartip.security.AuthenticatedUser;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records one audit event per dashboard request. Streams are recorded when they open, so long-lived SSE connections
+ * are not audited again when they complete.
+ */
+class DashboardAuditInterceptor implements AsyncHandlerInterceptor {
+
+    private final DashboardAuditLog auditLog;
+
+    DashboardAuditInterceptor(DashboardAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, HttpServletResponse.SC_OK);
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            record(request, response.getStatus());
+        }
+    }
+
+    private void record(HttpServletRequest request, int status) {
+        Object principal = request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        AuthenticatedUser user = principal instanceof AuthenticatedUser authenticated ? authenticated : null;
+        auditLog.record(new DashboardAccessEvent(
+                Instant.now(),
+                user != null ? user.id() : null,
+                user != null ? user.role() : null,
+                request.getMethod(),
+                request.getRequestURI(),
+                filters(request),
+                status));
+    }
+
+    // copied on the request thread: the container recycles the request once it completes
+    private static Map<String, List<String>> filters(HttpServletRequest request) {
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (parameters.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        parameters.forEach((name, values) -> filters.put(name, List.of(values)));
+        return filters;
+    }
+}
@@ -0,0 +1,148 @@
+package io.smartip.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smartip.scheduling.ClusterSingleton;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Audit trail of dashboard reads that stays off the request path: requests only enqueue into a bounded ring buffer,
+ * and a scheduled flush writes the buffered events in JDBC batches. When the buffer is full or a batch fails the
+ * events are dropped and counted rather than slowing down or failing dashboard requests.
+ */
+@Component
+class DashboardAuditLog implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardAuditLog.class);
+
+    private final DashboardAuditRepository repository;
+    private final AuditRingBuffer<DashboardAccessEvent> buffer;
+    private final Clock clock;
+    private final int batchSize;
+    private final int retentionMonths;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    // a monitor held across the JDBC batch would pin the carrier of a virtual scheduler thread
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean running;
+
+    DashboardAuditLog(
+            DashboardAuditRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${audit.dashboard.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${audit.dashboard.batch-size:500}") int batchSize,
+            @Value("${audit.dashboard.retention-months:12}") int retentionMonths) {
+        this(repository, meterRegistry, Clock.systemUTC(), bufferCapacity, batchSize, retentionMonths);
+    }
+
+    DashboardAuditLog(
+            DashboardAuditRepository repository,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            int bufferCapacity,
+            int batchSize,
+            int retentionMonths) {
+        this.repository = repository;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.clock = clock;
+        this.batchSize = Math.max(1, batchSize);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.recorded = events(meterRegistry, "recorded");
+        this.dropped = events(meterRegistry, "dropped");
+        this.written = events(meterRegistry, "written");
+        this.failed = events(meterRegistry, "failed");
+        Gauge.builder("audit.dashboard.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.dashboard.buffer.capacity", buffer, AuditRingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    /** Never blocks; returns {@code false} when the event was dropped because the buffer is full. */
+    boolean record(DashboardAccessEvent event) {
+        if (buffer.offer(event)) {
+            recorded.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.dashboard.flush-interval:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int total = 0;
+            List<DashboardAccessEvent> batch = new ArrayList<>(batchSize);
+            while (buffer.drain(batch::add, batchSize) > 0) {
+                try {
+                    repository.insertBatch(batch);
+                    written.increment(batch.size());
+                    total += batch.size();
+                } catch (RuntimeException ex) {
+                    failed.increment(batch.size());
+                    LOGGER.warn("Dropped {} dashboard audit event(s): {}", batch.size(), ex.getMessage());
+                }
+                batch.clear();
+            }
+            return total;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Prepares the current and next month's partitions and drops the ones past retention. */
+    @Scheduled(
+            initialDelayString = "${audit.dashboard.partition-initial-delay:60000}",
+            fixedDelayString = "${audit.dashboard.partition-interval:21600000}")
+    @ClusterSingleton(value = "audit-partitions", minInterval = "${audit.dashboard.partition-interval:21600000}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(clock);
+        repository.createPartition(current);
+        repository.createPartition(current.plusMonths(1));
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+        for (YearMonth month : repository.listPartitions()) {
+            if (month.isBefore(oldestKept)) {
+                repository.dropPartition(month);
+                LOGGER.info("Dropped dashboard audit partition for {}", month);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /** Writes what is still buffered before the data source goes away. */
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.dashboard.events")
+                .description("Dashboard audit events by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,101 @@
+package io.smartip.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class DashboardAuditRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit.dashboard_access (occurred_at, user_id, role, method, path, filters, status)
+            VALUES (?, ?, ?, ?, ?, ?::jsonb, ?)
+            """;
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            JOIN pg_namespace ns ON ns.oid = parent.relnamespace
+            WHERE ns.nspname = 'audit'
+              AND parent.relname = 'dashboard_access'
+              AND child.relname ~ '^dashboard_access_[0-9]{4}_[0-9]{2}$'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    DashboardAuditRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    void insertBatch(List<DashboardAccessEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DashboardAccessEvent event = events.get(i);
+                ps.setTimestamp(1, Timestamp.from(event.occurredAt()));
+                if (event.userId() != null) {
+                    ps.setLong(2, event.userId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setString(3, event.role() != null ? event.role().name() : null);
+                ps.setString(4, event.method());
+                ps.setString(5, event.path());
+                ps.setString(6, toJson(event));
+                ps.setShort(7, (short) event.status());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+
+    void createPartition(YearMonth month) {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS audit.%s PARTITION OF audit.dashboard_access
+                    FOR VALUES FROM ('%s') TO ('%s')
+                """.formatted(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    List<YearMonth> listPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class).stream()
+                .map(name -> YearMonth.parse(name.substring("dashboard_access_".length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS audit." + partitionName(month));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "dashboard_access_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private String toJson(DashboardAccessEvent event) {
+        if (event.filters() == null || event.filters().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.filters());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize audit filters", ex);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.smartip.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
@@ -11,12 +12,28 @@ import org.springframework.context.annotation.Configuration;
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(
+            @Value("${dashboard.analytics.refresh-interval:300000}") long analyticsRefreshIntervalMs) {
         CaffeineCacheManager cacheManager =
                 new CaffeineCacheManager("dashboard-summary", "dashboard-status-trends", "dashboard-technician-load", "dashboard-map");
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(Duration.ofSeconds(60))
                 .maximumSize(500));
+        // invalidated per tile on every node when the replication writer rewrites the geo view, so entries can live longer than the other dashboard caches
+        cacheManager.registerCustomCache("dashboard-map-tiles", Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .maximumSize(10_000)
+                .build());
+        // forecasts only consume closed days and are evicted on every analytics refresh
+        cacheManager.registerCustomCache("dashboard-forecast", Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(15))
+                .maximumSize(1_000)
+                .build());
+        // rewritten for every technician on each node after every analytics refresh, so entries outlive one refresh interval
+        cacheManager.registerCustomCache("dashboard-insights", Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(analyticsRefreshIntervalMs).plusSeconds(60))
+                .maximumSize(10_000)
+                .build());
         return cacheManager;
     }
 }
@@ -0,0 +1,28 @@
+package io.smartip.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Reads the connection budget that concurrency limits are derived from. */
+public final class ConnectionPools {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPools.class);
+    // Hikari's default maximum pool size
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private ConnectionPools() {}
+
+    public static int maximumSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException ex) {
+            LOGGER.warn("Unable to read the connection pool size: {}", ex.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
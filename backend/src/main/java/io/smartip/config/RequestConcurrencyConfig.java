@@ -0,0 +1,41 @@
+package io.smartip.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Registers {@link RequestConcurrencyLimitFilter}; on by default when requests run on virtual threads. */
+@Configuration
+@ConditionalOnProperty(name = "request-limit.enabled", havingValue = "true")
+class RequestConcurrencyConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestConcurrencyConfig.class);
+
+    @Bean
+    FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${request-limit.permits:0}") int configuredPermits,
+            @Value("${request-limit.permits-per-connection:2}") int permitsPerConnection,
+            @Value("${request-limit.acquire-timeout:PT2S}") Duration acquireTimeout) {
+        int permits = configuredPermits > 0
+                ? configuredPermits
+                : ConnectionPools.maximumSize(dataSource) * Math.max(1, permitsPerConnection);
+        LOGGER.info("Limiting concurrent API requests to {}", permits);
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(permits, acquireTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setName("requestConcurrencyLimitFilter");
+        // ahead of Spring Security, so rejected requests cost no authentication work
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -1,58 +1,150 @@
 package io.smartip.dashboard;
 
+import io.smartip.config.ConnectionPools;
+import io.smartip.scheduling.ClusterSingleton;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class AnalyticsAggregationService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AnalyticsAggregationService.class);
+    private static final ThreadFactory REFRESH_THREADS = Thread.ofPlatform().name("analytics-refresh-", 0).factory();
 
     private final JdbcTemplate jdbcTemplate;
     private final DashboardCacheEvictor cacheEvictor;
+    private final DashboardForecastService forecastService;
+    private final StatusTrendRollups rollups;
+    private final TransactionTemplate unitTransaction;
+    private final Clock clock;
     private final int historyDays;
+    private final int parallelism;
     private final boolean refreshEnabled;
 
+    @Autowired
     public AnalyticsAggregationService(
             JdbcTemplate jdbcTemplate,
             DashboardCacheEvictor cacheEvictor,
+            DashboardForecastService forecastService,
+            StatusTrendRollups rollups,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            ObjectProvider<Clock> clockProvider,
             @Value("${dashboard.analytics.history-days:14}") int historyDays,
+            @Value("${dashboard.analytics.refresh-parallelism:4}") int parallelism,
             @Value("${dashboard.analytics.refresh-enabled:false}") boolean refreshEnabled) {
+        this(
+                jdbcTemplate,
+                cacheEvictor,
+                forecastService,
+                rollups,
+                transactionManager,
+                clockProvider.getIfAvailable(Clock::systemUTC),
+                historyDays,
+                connectionBudget(parallelism, ConnectionPools.maximumSize(dataSource)),
+                refreshEnabled);
+    }
+
+    AnalyticsAggregationService(
+            JdbcTemplate jdbcTemplate,
+            DashboardCacheEvictor cacheEvictor,
+            DashboardForecastService forecastService,
+            StatusTrendRollups rollups,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            int historyDays,
+            int parallelism,
+            boolean refreshEnabled) {
         this.jdbcTemplate = jdbcTemplate;
         this.cacheEvictor = cacheEvictor;
+        this.forecastService = forecastService;
+        this.rollups = rollups;
+        this.unitTransaction = new TransactionTemplate(transactionManager);
+        this.unitTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
         this.historyDays = Math.max(historyDays, 1);
+        this.parallelism = Math.max(parallelism, 1);
         this.refreshEnabled = refreshEnabled;
     }
 
-    @Transactional
+    /**
+     * Rebuilds the analytics tables as independent units (day ranges, technician shards, intervention shards), each
+     * committed in its own short transaction on a pooled connection. At most {@code refresh-parallelism} units run at
+     * once, capped so that with the cluster lock connection they leave one pooled connection free. Readers may briefly see some units refreshed and others not.
+     * Manual and replication-triggered refreshes wait for a refresh running on another node rather than racing it.
+     * Days are bucketed in UTC, so "today" comes from the same UTC clock as the dashboard request defaults.
+     */
+    @ClusterSingleton(value = "analytics-refresh", waitForLock = true)
     public void refreshAnalytics() {
-        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate today = LocalDate.now(clock);
         LocalDate start = today.minusDays(historyDays - 1L);
-        Instant now = Instant.now();
+        Instant now = clock.instant();
+        long started = System.nanoTime();
 
-        try {
-            refreshDailyMetrics(start, today, now);
-            refreshTechnicianLoad(now);
-            refreshGeoView(now);
+        // read before any unit holds a connection, so the caller never waits on the pool behind its own units
+        List<IdRange> technicianShards = idShards("users");
+        List<IdRange> interventionShards = idShards("interventions");
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, REFRESH_THREADS)) {
+            List<CompletableFuture<Void>> dailyUnits = new ArrayList<>();
+            for (DayRange days : DayRange.split(start, today, parallelism)) {
+                dailyUnits.add(submit(executor, () -> {
+                    refreshDailyMetrics(days.from(), days.to(), now);
+                    refreshTechnicianDailyMetrics(days.from(), days.to(), now);
+                }));
+            }
+            List<CompletableFuture<Void>> units = new ArrayList<>(dailyUnits);
+            // weeks and months straddle day ranges, so they are rolled up once every range has committed
+            units.add(CompletableFuture.allOf(dailyUnits.toArray(CompletableFuture[]::new))
+                    .thenRunAsync(() -> unitTransaction.executeWithoutResult(
+                            status -> rollups.rollup(start, today, now)), executor));
+            for (IdRange shard : technicianShards) {
+                units.add(submit(executor, () -> refreshTechnicianLoad(shard, now)));
+            }
+            for (IdRange shard : interventionShards) {
+                units.add(submit(executor, () -> refreshGeoView(shard)));
+            }
+            CompletableFuture.allOf(units.toArray(CompletableFuture[]::new)).join();
+        } catch (RuntimeException ex) {
+            RuntimeException cause =
+                    ex instanceof CompletionException && ex.getCause() instanceof RuntimeException unit ? unit : ex;
+            // units that did commit are already visible, so cached responses are stale either way
             cacheEvictor.evictAll();
-            LOGGER.info("Dashboard analytics refreshed successfully.");
-        } catch (DataAccessException ex) {
-            LOGGER.error("Failed to refresh dashboard analytics", ex);
-            throw ex;
+            LOGGER.error("Failed to refresh dashboard analytics", cause);
+            throw cause;
         }
+
+        forecastService.rebuildAll(today.minusDays(1));
+        cacheEvictor.evictAll();
+        // every node, this one included, evicts its caches and precomputes the insights of the refreshed day
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, AnalyticsRefreshListener.CHANNEL, today.toString());
+        LOGGER.info("Dashboard analytics refreshed in {} ms.", (System.nanoTime() - started) / 1_000_000);
     }
 
     @Scheduled(fixedDelayString = "${dashboard.analytics.refresh-interval:300000}")
+    @ClusterSingleton(value = "analytics-refresh", minInterval = "${dashboard.analytics.refresh-interval:300000}")
     public void scheduledRefresh() {
         if (refreshEnabled) {
             refreshAnalytics();
@@ -61,6 +153,27 @@ public class AnalyticsAggregationService {
         }
     }
 
+    /** Units may use the pool minus the connection holding the cluster lock and one left for everything else. */
+    static int connectionBudget(int configured, int poolSize) {
+        int budget = Math.max(1, Math.min(configured, poolSize - 2));
+        if (budget < configured) {
+            LOGGER.info("Capping analytics refresh parallelism at {} for a pool of {}", budget, poolSize);
+        }
+        return budget;
+    }
+
+    private CompletableFuture<Void> submit(ExecutorService executor, Runnable unit) {
+        // one transaction per unit: the staging tables are session-local and dropped on commit
+        return CompletableFuture.runAsync(() -> unitTransaction.executeWithoutResult(status -> unit.run()), executor);
+    }
+
+    private List<IdRange> idShards(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT min(id) AS min_id, max(id) AS max_id FROM " + table,
+                (rs, rowNum) -> IdRange.split(
+                        rs.getObject("min_id", Long.class), rs.getObject("max_id", Long.class), parallelism));
+    }
+
     private void refreshDailyMetrics(LocalDate from, LocalDate to, Instant refreshedAt) {
         Objects.requireNonNull(from);
         Objects.requireNonNull(to);
@@ -133,11 +246,89 @@ public class AnalyticsAggregationService {
                 refreshedTimestamp);
     }
 
-    private void refreshTechnicianLoad(Instant refreshedAt) {
-        jdbcTemplate.update("DELETE FROM analytics.intervention_technician_load");
+    private void refreshTechnicianDailyMetrics(LocalDate from, LocalDate to, Instant refreshedAt) {
+        jdbcTemplate.update(
+                "DELETE FROM analytics.intervention_daily_technician_metrics WHERE metric_date BETWEEN ? AND ?",
+                java.sql.Date.valueOf(from),
+                java.sql.Date.valueOf(to));
+
         jdbcTemplate.update(
                 """
-                INSERT INTO analytics.intervention_technician_load (
+                INSERT INTO analytics.intervention_daily_technician_metrics (
+                    technician_id,
+                    metric_date,
+                    status,
+                    total_count,
+                    avg_completion_seconds,
+                    validation_ratio,
+                    last_refreshed_at)
+                WITH base AS (
+                    SELECT
+                        technician_id,
+                        (planned_at AT TIME ZONE 'UTC')::date AS metric_date,
+                        status,
+                        CASE
+                            WHEN completed_at IS NOT NULL AND started_at IS NOT NULL
+                                THEN EXTRACT(EPOCH FROM completed_at - started_at)
+                            ELSE NULL
+                        END AS completion_seconds
+                    FROM interventions
+                    WHERE technician_id IS NOT NULL
+                      AND planned_at >= ? AND planned_at < ?
+                ),
+                aggregated AS (
+                    SELECT
+                        technician_id,
+                        metric_date,
+                        status,
+                        COUNT(*) AS total_count,
+                        AVG(completion_seconds) AS avg_completion_seconds
+                    FROM base
+                    GROUP BY technician_id, metric_date, status
+                ),
+                daily_completed AS (
+                    SELECT
+                        technician_id,
+                        metric_date,
+                        SUM(CASE WHEN status IN ('COMPLETED', 'VALIDATED') THEN total_count ELSE 0 END) AS completed_total,
+                        SUM(CASE WHEN status = 'VALIDATED' THEN total_count ELSE 0 END) AS validated_total
+                    FROM aggregated
+                    GROUP BY technician_id, metric_date
+                )
+                SELECT
+                    a.technician_id,
+                    a.metric_date,
+                    a.status,
+                    a.total_count,
+                    a.avg_completion_seconds,
+                    CASE
+                        WHEN a.status = 'VALIDATED' AND dc.completed_total > 0
+                            THEN (dc.validated_total::numeric / dc.completed_total::numeric) * 100
+                        ELSE NULL
+                    END AS validation_ratio,
+                    ?
+                FROM aggregated a
+                JOIN daily_completed dc
+                  ON dc.technician_id = a.technician_id AND dc.metric_date = a.metric_date
+                """,
+                java.sql.Timestamp.from(from.atStartOfDay().toInstant(ZoneOffset.UTC)),
+                java.sql.Timestamp.from(to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC)),
+                java.sql.Timestamp.from(refreshedAt));
+    }
+
+    // Technician load and geo rows are rebuilt into a transaction-local staging table, then merged: vanished keys are
+    // deleted and readers keep the previous rows meanwhile. Geo rows are only rewritten when they changed, so an idle
+    // refresh leaves almost no dead tuples or WAL there; the small load table is always updated so last_refreshed_at,
+    // which the dashboard shows, stays current.
+    // Each call only covers one id shard, and the delete is bounded to that shard so parallel units never overlap.
+    private void refreshTechnicianLoad(IdRange shard, Instant refreshedAt) {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE technician_load_staging
+                    (LIKE analytics.intervention_technician_load INCLUDING DEFAULTS) ON COMMIT DROP
+                """);
+        jdbcTemplate.update(
+                """
+                INSERT INTO technician_load_staging (
                     technician_id,
                     open_count,
                     completed_today,
@@ -154,17 +345,45 @@ public class AnalyticsAggregationService {
                         FILTER (WHERE completed_at IS NOT NULL AND started_at IS NOT NULL) AS avg_completion_seconds,
                     ?
                 FROM interventions
-                WHERE technician_id IS NOT NULL
+                WHERE technician_id BETWEEN ? AND ?
                 GROUP BY technician_id
                 """,
-                java.sql.Timestamp.from(refreshedAt));
+                java.sql.Timestamp.from(refreshedAt),
+                shard.from(),
+                shard.to());
+        jdbcTemplate.update(
+                """
+                DELETE FROM analytics.intervention_technician_load t
+                WHERE t.technician_id BETWEEN ? AND ?
+                  AND NOT EXISTS (SELECT 1 FROM technician_load_staging s WHERE s.technician_id = t.technician_id)
+                """,
+                shard.from(),
+                shard.to());
+        jdbcTemplate.update("""
+                INSERT INTO analytics.intervention_technician_load (
+                    technician_id,
+                    open_count,
+                    completed_today,
+                    avg_completion_seconds,
+                    last_refreshed_at)
+                SELECT technician_id, open_count, completed_today, avg_completion_seconds, last_refreshed_at
+                FROM technician_load_staging
+                ON CONFLICT (technician_id) DO UPDATE
+                    SET open_count = EXCLUDED.open_count,
+                        completed_today = EXCLUDED.completed_today,
+                        avg_completion_seconds = EXCLUDED.avg_completion_seconds,
+                        last_refreshed_at = EXCLUDED.last_refreshed_at
+                """);
     }
 
-    private void refreshGeoView(Instant refreshedAt) {
-        jdbcTemplate.update("DELETE FROM analytics.intervention_geo_view");
+    private void refreshGeoView(IdRange shard) {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE geo_view_staging
+                    (LIKE analytics.intervention_geo_view INCLUDING DEFAULTS) ON COMMIT DROP
+                """);
         jdbcTemplate.update(
                 """
-                INSERT INTO analytics.intervention_geo_view (
+                INSERT INTO geo_view_staging (
                     intervention_id,
                     latitude,
                     longitude,
@@ -179,11 +398,76 @@ public class AnalyticsAggregationService {
                     status,
                     technician_id,
                     planned_at,
-                    COALESCE(updated_at, ?)
+                    -- a stable fallback, so the merge below does not see every such row as changed
+                    COALESCE(updated_at, created_at)
                 FROM interventions
-                WHERE latitude IS NOT NULL
+                WHERE id BETWEEN ? AND ?
+                  AND latitude IS NOT NULL
                   AND longitude IS NOT NULL
                 """,
-                java.sql.Timestamp.from(refreshedAt));
+                shard.from(),
+                shard.to());
+        jdbcTemplate.update(
+                """
+                DELETE FROM analytics.intervention_geo_view g
+                WHERE g.intervention_id BETWEEN ? AND ?
+                  AND NOT EXISTS (SELECT 1 FROM geo_view_staging s WHERE s.intervention_id = g.intervention_id)
+                """,
+                shard.from(),
+                shard.to());
+        jdbcTemplate.update("""
+                INSERT INTO analytics.intervention_geo_view AS g (
+                    intervention_id,
+                    latitude,
+                    longitude,
+                    status,
+                    technician_id,
+                    planned_at,
+                    updated_at)
+                SELECT intervention_id, latitude, longitude, status, technician_id, planned_at, updated_at
+                FROM geo_view_staging
+                ON CONFLICT (intervention_id) DO UPDATE
+                    SET latitude = EXCLUDED.latitude,
+                        longitude = EXCLUDED.longitude,
+                        status = EXCLUDED.status,
+                        technician_id = EXCLUDED.technician_id,
+                        planned_at = EXCLUDED.planned_at,
+                        updated_at = EXCLUDED.updated_at
+                    WHERE (g.latitude, g.longitude, g.status, g.technician_id, g.planned_at, g.updated_at)
+                        IS DISTINCT FROM (EXCLUDED.latitude, EXCLUDED.longitude, EXCLUDED.status,
+                                          EXCLUDED.technician_id, EXCLUDED.planned_at, EXCLUDED.updated_at)
+                """);
+    }
+
+    /** Inclusive range of dates refreshed by one unit. */
+    record DayRange(LocalDate from, LocalDate to) {
+
+        static List<DayRange> split(LocalDate from, LocalDate to, int parts) {
+            long days = ChronoUnit.DAYS.between(from, to) + 1;
+            long size = Math.ceilDiv(days, parts);
+            List<DayRange> ranges = new ArrayList<>();
+            for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(size)) {
+                LocalDate end = start.plusDays(size - 1);
+                ranges.add(new DayRange(start, end.isAfter(to) ? to : end));
+            }
+            return ranges;
+        }
+    }
+
+    /** Inclusive id range; the outer shards are open-ended so rows created after the bounds were read still match. */
+    record IdRange(long from, long to) {
+
+        static List<IdRange> split(Long min, Long max, int parts) {
+            if (min == null || max == null || parts == 1) {
+                return List.of(new IdRange(Long.MIN_VALUE, Long.MAX_VALUE));
+            }
+            long size = Math.max(Math.ceilDiv(max - min + 1, parts), 1);
+            List<IdRange> ranges = new ArrayList<>();
+            for (long start = min; start <= max; start += size) {
+                long end = start + size - 1;
+                ranges.add(new IdRange(ranges.isEmpty() ? Long.MIN_VALUE : start, end >= max ? Long.MAX_VALUE : end));
+            }
+            return ranges;
+        }
     }
 }
@@ -0,0 +1,157 @@
+package io.smartip.dashboard;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the dashboard caches of every node current. An analytics refresh runs on one node only, which sends the
+ * refreshed date on {@link #CHANNEL}: each node then evicts its caches and precomputes the insights. Replication
+ * batches send the rewritten geo view positions on {@link GeoViewChangedEvent#CHANNEL}, and each node evicts the map
+ * tiles covering them. A node whose listener is reconnecting misses both and serves its cached entries until they
+ * expire.
+ */
+@Component
+class AnalyticsRefreshListener implements SmartLifecycle {
+
+    static final String CHANNEL = "analytics_refreshed";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalyticsRefreshListener.class);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final DashboardCacheEvictor cacheEvictor;
+    private final DashboardInsightsService insightsService;
+    private final MapTileService mapTileService;
+    private final long reconnectBackoffMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    AnalyticsRefreshListener(
+            DataSourceProperties dataSourceProperties,
+            DashboardCacheEvictor cacheEvictor,
+            DashboardInsightsService insightsService,
+            MapTileService mapTileService,
+            @Value("${dashboard.analytics.listener.reconnect-backoff:5000}") long reconnectBackoffMs) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheEvictor = cacheEvictor;
+        this.insightsService = insightsService;
+        this.mapTileService = mapTileService;
+        this.reconnectBackoffMs = reconnectBackoffMs;
+    }
+
+    void handleNotification(String channel, String payload) {
+        if (GeoViewChangedEvent.CHANNEL.equals(channel)) {
+            handleGeoViewChange(payload);
+        } else {
+            handleRefresh(payload);
+        }
+    }
+
+    private void handleGeoViewChange(String payload) {
+        GeoViewChangedEvent event;
+        try {
+            event = GeoViewChangedEvent.fromPayload(payload);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.warn("Ignoring malformed {} notification: {}", GeoViewChangedEvent.CHANNEL, ex.getMessage());
+            return;
+        }
+        mapTileService.evict(event);
+    }
+
+    private void handleRefresh(String payload) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(payload);
+        } catch (DateTimeParseException ex) {
+            LOGGER.warn("Ignoring malformed {} notification '{}'", CHANNEL, payload);
+            return;
+        }
+        cacheEvictor.evictAll();
+        try {
+            insightsService.precompute(date);
+        } catch (RuntimeException ex) {
+            // requests compute their own entries on a miss
+            LOGGER.warn("Failed to precompute dashboard insights for {}: {}", date, ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "analytics-refresh-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                    statement.execute("LISTEN " + GeoViewChangedEvent.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception ex) {
+                if (running) {
+                    LOGGER.warn("Analytics refresh listener interrupted, reconnecting: {}", ex.getMessage());
+                    sleep(reconnectBackoffMs);
+                }
+            }
+        }
+    }
+
+    private Connection openListenerConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        PGProperty.USER.set(connectionProperties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(connectionProperties, dataSourceProperties.determinePassword());
+        PGProperty.APPLICATION_NAME.set(connectionProperties, "analytics-refresh-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,10 +4,43 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Component;
 
 @Component
-class DashboardCacheEvictor {
+public class DashboardCacheEvictor {
 
-    @CacheEvict(cacheNames = {"dashboard-summary", "dashboard-status-trends", "dashboard-technician-load", "dashboard-map"}, allEntries = true)
+    private final DashboardVersions versions;
+
+    public DashboardCacheEvictor(DashboardVersions versions) {
+        this.versions = versions;
+    }
+
+    @CacheEvict(
+            cacheNames = {
+                "dashboard-summary",
+                "dashboard-status-trends",
+                "dashboard-technician-load",
+                "dashboard-map",
+                MapTileService.CACHE_NAME,
+                DashboardForecastService.CACHE_NAME,
+                DashboardInsightsService.CACHE_NAME
+            },
+            allEntries = true,
+            beforeInvocation = true)
     public void evictAll() {
-        // No-op, annotation handles eviction
+        versions.bumpAll();
+    }
+
+    /** Same as {@link #evictAll()} but keeps the map tiles, which geo view writers evict per position. */
+    @CacheEvict(
+            cacheNames = {
+                "dashboard-summary",
+                "dashboard-status-trends",
+                "dashboard-technician-load",
+                "dashboard-map",
+                DashboardForecastService.CACHE_NAME,
+                DashboardInsightsService.CACHE_NAME
+            },
+            allEntries = true,
+            beforeInvocation = true)
+    public void evictAllButTiles() {
+        versions.bumpAll();
     }
 }
@@ -1,121 +1,235 @@
 package io.smartip.dashboard;
 
 import io.smartip.dashboard.dto.AiInsightResponse;
+import io.smartip.dashboard.dto.DashboardSnapshotResponse;
 import io.smartip.dashboard.dto.DashboardSummaryResponse;
 import io.smartip.dashboard.dto.InterventionMapMarker;
+import io.smartip.dashboard.dto.MapMarkerPage;
+import io.smartip.dashboard.dto.MapTileResponse;
 import io.smartip.dashboard.dto.StatusTrendPoint;
 import io.smartip.dashboard.dto.TechnicianLoadResponse;
 import io.smartip.dashboard.dto.ForecastResponse;
 import io.smartip.domain.UserRole;
+import io.smartip.security.AuthenticatedUser;
+import io.smartip.security.CurrentUser;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Locale;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TREND_GRANULARITY_HEADER = "X-Trend-Granularity";
+
     private final DashboardService dashboardService;
     private final AnalyticsAggregationService aggregationService;
+    private final MapTileService mapTileService;
+    private final DashboardStreamService streamService;
+    private final DashboardSnapshotService snapshotService;
+    private final DashboardVersions versions;
+    private final Clock clock;
+
+    @Autowired
+    public DashboardController(
+            DashboardService dashboardService,
+            AnalyticsAggregationService aggregationService,
+            MapTileService mapTileService,
+            DashboardStreamService streamService,
+            DashboardSnapshotService snapshotService,
+            DashboardVersions versions,
+            ObjectProvider<Clock> clockProvider) {
+        this(
+                dashboardService,
+                aggregationService,
+                mapTileService,
+                streamService,
+                snapshotService,
+                versions,
+                clockProvider.getIfAvailable(Clock::systemUTC));
+    }
 
-    public DashboardController(DashboardService dashboardService, AnalyticsAggregationService aggregationService) {
+    DashboardController(
+            DashboardService dashboardService,
+            AnalyticsAggregationService aggregationService,
+            MapTileService mapTileService,
+            DashboardStreamService streamService,
+            DashboardSnapshotService snapshotService,
+            DashboardVersions versions,
+            Clock clock) {
         this.dashboardService = dashboardService;
         this.aggregationService = aggregationService;
+        this.mapTileService = mapTileService;
+        this.streamService = streamService;
+        this.snapshotService = snapshotService;
+        this.versions = versions;
+        this.clock = clock;
     }
 
     @GetMapping("/summary")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER','TECH')")
     public DashboardSummaryResponse getSummary(
-            Authentication authentication,
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
             @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        UserRole role = resolveRole(authentication);
-        LocalDate targetDate = date != null ? date : LocalDate.now();
-        return dashboardService.getSummary(targetDate, authentication.getName(), role);
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
+        }
+        LocalDate targetDate = date != null ? date : LocalDate.now(clock);
+        return dashboardService.getSummary(targetDate, scope);
     }
 
     @GetMapping("/status-trends")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER','TECH')")
-    public List<StatusTrendPoint> getStatusTrends(
-            Authentication authentication,
+    public ResponseEntity<List<StatusTrendPoint>> getStatusTrends(
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
-        UserRole role = resolveRole(authentication);
-        LocalDate end = to != null ? to : LocalDate.now();
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "granularity", required = false) String granularity) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
         LocalDate start = from != null ? from : end.minusDays(13);
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Parameter 'from' must be before 'to'");
         }
-        return dashboardService.getStatusTrends(start, end, authentication.getName(), role);
+        TrendGranularity resolved = TrendGranularity.resolve(granularity, start, end);
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .header(TREND_GRANULARITY_HEADER, resolved.parameterValue())
+                .body(dashboardService.getStatusTrends(start, end, resolved, scope));
     }
 
     @GetMapping("/technician-load")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER','TECH')")
-    public List<TechnicianLoadResponse> getTechnicianLoad(Authentication authentication) {
-        UserRole role = resolveRole(authentication);
-        String email = authentication.getName();
-        return dashboardService.getTechnicianLoad(email, role);
+    public List<TechnicianLoadResponse> getTechnicianLoad(@CurrentUser AuthenticatedUser user, WebRequest request) {
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
+        }
+        return dashboardService.getTechnicianLoad(scope);
     }
 
     @GetMapping("/ai/insights")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER','TECH')")
     public AiInsightResponse getAiInsights(
-            Authentication authentication,
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
             @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        UserRole role = resolveRole(authentication);
-        return dashboardService.getAiInsights(date, authentication.getName(), role);
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
+        }
+        return dashboardService.getAiInsights(date, scope);
     }
 
     @GetMapping("/ai/forecast")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER','TECH')")
     public ForecastResponse getForecast(
-            Authentication authentication,
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
             @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        UserRole role = resolveRole(authentication);
-        return dashboardService.getForecast(date, authentication.getName(), role);
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
+        }
+        return dashboardService.getForecast(date, scope);
     }
 
-    @GetMapping("/map")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER','TECH')")
-    public List<InterventionMapMarker> getMap(
-            Authentication authentication,
+    @GetMapping(value = "/map", produces = {MediaType.APPLICATION_JSON_VALUE, MapMarkerCodec.MEDIA_TYPE})
+    public ResponseEntity<List<InterventionMapMarker>> getMap(
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
             @RequestParam(value = "status", required = false) List<String> statuses,
-            @RequestParam(value = "limit", required = false) @Positive @Max(1000) Integer limit) {
-        UserRole role = resolveRole(authentication);
-        boolean precise = role == UserRole.ADMIN;
+            @RequestParam(value = "limit", required = false) @Positive @Max(1000) Integer limit,
+            @RequestParam(value = "minLat", required = false) Double minLatitude,
+            @RequestParam(value = "minLon", required = false) Double minLongitude,
+            @RequestParam(value = "maxLat", required = false) Double maxLatitude,
+            @RequestParam(value = "maxLon", required = false) Double maxLongitude,
+            @RequestParam(value = "zoom", required = false) @Min(0) @Max(MapTiles.MAX_ZOOM) Integer zoom,
+            @RequestParam(value = "cursor", required = false) String cursor) {
         int desiredLimit = limit != null ? limit : 0;
-        return dashboardService.getMapMarkers(statuses, precise, desiredLimit, authentication.getName(), role);
+        MapViewport viewport = MapViewport.of(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        MapCursor decodedCursor = MapCursor.decode(cursor);
+        DashboardScope scope = DashboardScope.of(user);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String variant = accept != null && accept.contains(MapMarkerCodec.MEDIA_TYPE) ? "bin" : null;
+        if (request.checkNotModified(versions.etag(scope, variant))) {
+            return null;
+        }
+        boolean precise = scope.role() == UserRole.ADMIN;
+        if (viewport == null && cursor == null && zoom == null) {
+            return ResponseEntity.ok(
+                    dashboardService.getMapMarkers(statuses, precise, desiredLimit, scope));
+        }
+        MapMarkerQuery query = new MapMarkerQuery(statuses, viewport, decodedCursor, zoom, desiredLimit);
+        MapMarkerPage page = dashboardService.getMapMarkerPage(query, precise, scope);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.markers());
+    }
+
+    @GetMapping("/map/tiles/{z}/{x}/{y}")
+    public MapTileResponse getMapTile(
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
+            @PathVariable("z") @Min(0) @Max(MapTiles.MAX_ZOOM) int zoom,
+            @PathVariable("x") @Min(0) int x,
+            @PathVariable("y") @Min(0) int y) {
+        if (!MapTiles.isValid(zoom, x, y)) {
+            throw new IllegalArgumentException("Tile " + zoom + "/" + x + "/" + y + " does not exist");
+        }
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
+        }
+        return mapTileService.getTile(zoom, x, y, scope);
     }
 
-    private UserRole resolveRole(Authentication authentication) {
-        if (authentication == null) {
-            throw new IllegalArgumentException("Authentication required");
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentUser AuthenticatedUser user) {
+        return streamService.subscribe(DashboardScope.of(user));
+    }
+
+    @GetMapping("/snapshot")
+    public DashboardSnapshotResponse getSnapshot(
+            @CurrentUser AuthenticatedUser user,
+            WebRequest request,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        DashboardScope scope = DashboardScope.of(user);
+        if (notModified(request, scope)) {
+            return null;
         }
-        return authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(auth -> auth.startsWith("ROLE_"))
-                .map(auth -> auth.substring(5))
-                .map(role -> role.toUpperCase(Locale.ROOT))
-                .map(UserRole::valueOf)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unknown role for user"));
+        LocalDate targetDate = date != null ? date : LocalDate.now(clock);
+        return snapshotService.load(targetDate, scope);
+    }
+
+    private boolean notModified(WebRequest request, DashboardScope scope) {
+        return request.checkNotModified(versions.etag(scope));
     }
 
     @PostMapping("/refresh")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    @PreAuthorize("hasRole('ADMIN')")
     public void refreshAnalytics() {
         aggregationService.refreshAnalytics();
     }
@@ -0,0 +1,20 @@
+package io.smartip.dashboard;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice(assignableTypes = DashboardController.class)
+class DashboardExceptionsHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    ProblemDetail handleBadRequest(IllegalArgumentException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(DashboardStreamUnavailableException.class)
+    ProblemDetail handleStreamUnavailable(DashboardStreamUnavailableException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+}
@@ -0,0 +1,120 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.dto.ForecastPointResponse;
+import io.smartip.dashboard.dto.ForecastResponse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps one Holt-Winters model per scope (all interventions, or a single technician) trained on closed days only.
+ * Models are refitted in bulk on every analytics refresh and otherwise advanced by the days closed since.
+ */
+@Service
+public class DashboardForecastService {
+
+    public static final String CACHE_NAME = "dashboard-forecast";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardForecastService.class);
+    private static final String METHOD = "holt-winters-additive-weekly";
+    private static final long ALL_TECHNICIANS = 0L;
+    private static final int HORIZON_DAYS = 7;
+
+    private final DashboardRepository repository;
+    private final int historyDays;
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final ConcurrentMap<Long, HoltWintersModel> models = new ConcurrentHashMap<>();
+
+    public DashboardForecastService(
+            DashboardRepository repository,
+            @Value("${dashboard.forecast.history-weeks:8}") int historyWeeks,
+            @Value("${dashboard.forecast.alpha:0.3}") double alpha,
+            @Value("${dashboard.forecast.beta:0.05}") double beta,
+            @Value("${dashboard.forecast.gamma:0.3}") double gamma) {
+        this.repository = repository;
+        this.historyDays = Math.max(historyWeeks, 2) * HoltWintersModel.SEASON_LENGTH;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+    }
+
+    /** Forecasts the seven days following {@code date}; the model only consumes days up to {@code date - 1}. */
+    @Cacheable(cacheNames = CACHE_NAME, key = "{#date, #scope.technicianId()}")
+    @Transactional(readOnly = true)
+    public ForecastResponse getForecast(LocalDate date, DashboardScope scope) {
+        HoltWintersModel model = modelFor(date.minusDays(1), scope.technicianId());
+        List<ForecastPointResponse> points = new ArrayList<>(HORIZON_DAYS);
+        for (int i = 1; i <= HORIZON_DAYS; i++) {
+            LocalDate target = date.plusDays(i);
+            points.add(new ForecastPointResponse(target, Math.max(0, Math.round(model.forecast(target)))));
+        }
+        return new ForecastResponse(
+                Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                METHOD,
+                alpha,
+                model.lastObserved(),
+                Math.round(model.level() * 10) / 10.0,
+                points);
+    }
+
+    /** Refits the global model and every technician model from two range queries. */
+    @Transactional(readOnly = true)
+    public void rebuildAll(LocalDate closedThrough) {
+        long started = System.nanoTime();
+        LocalDate from = closedThrough.minusDays(historyDays - 1L);
+        Map<Long, HoltWintersModel> rebuilt = new HashMap<>();
+        rebuilt.put(ALL_TECHNICIANS, fit(repository.fetchDailyTotals(from, closedThrough, null), from, closedThrough));
+        repository.fetchDailyTotalsByTechnician(from, closedThrough)
+                .forEach((technicianId, totals) -> rebuilt.put(technicianId, fit(totals, from, closedThrough)));
+        models.putAll(rebuilt);
+        models.keySet().retainAll(rebuilt.keySet());
+        LOGGER.debug("Rebuilt {} forecast models in {} ms", rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private HoltWintersModel modelFor(LocalDate closedThrough, Long technicianId) {
+        long key = technicianId != null ? technicianId : ALL_TECHNICIANS;
+        HoltWintersModel current = models.get(key);
+        if (current != null && current.lastDate().equals(closedThrough)) {
+            return current;
+        }
+        HoltWintersModel model;
+        if (current != null
+                && current.lastDate().isBefore(closedThrough)
+                && ChronoUnit.DAYS.between(current.lastDate(), closedThrough) < historyDays) {
+            LocalDate from = current.lastDate().plusDays(1);
+            Map<LocalDate, Long> totals = repository.fetchDailyTotals(from, closedThrough, technicianId);
+            long[] observations = new long[(int) ChronoUnit.DAYS.between(from, closedThrough) + 1];
+            for (int i = 0; i < observations.length; i++) {
+                observations[i] = totals.getOrDefault(from.plusDays(i), 0L);
+            }
+            model = current.advance(observations);
+        } else {
+            LocalDate from = closedThrough.minusDays(historyDays - 1L);
+            model = fit(repository.fetchDailyTotals(from, closedThrough, technicianId), from, closedThrough);
+        }
+        // past dates are served from a throwaway model so the live state never moves backwards
+        if (current == null || current.lastDate().isBefore(closedThrough)) {
+            models.merge(key, model, (existing, candidate) ->
+                    existing.lastDate().isAfter(candidate.lastDate()) ? existing : candidate);
+        }
+        return model;
+    }
+
+    private HoltWintersModel fit(Map<LocalDate, Long> totals, LocalDate from, LocalDate to) {
+        return HoltWintersModel.fit(totals, from, to, alpha, beta, gamma);
+    }
+}
@@ -0,0 +1,142 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.DashboardRepository.DailyMetricRow;
+import io.smartip.dashboard.dto.AiInsightResponse;
+import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRepository;
+import io.smartip.domain.UserRole;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Day-over-day insights, cached per date and technician scope like the summary. Both days are read in one range
+ * query, and analytics refreshes precompute the entries of every technician on each node so TECH users hit a warm cache.
+ */
+@Service
+public class DashboardInsightsService {
+
+    static final String CACHE_NAME = "dashboard-insights";
+
+    private final DashboardRepository repository;
+    private final UserRepository userRepository;
+    private final Cache insights;
+
+    public DashboardInsightsService(
+            DashboardRepository repository, UserRepository userRepository, CacheManager cacheManager) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.insights = cacheManager.getCache(CACHE_NAME);
+    }
+
+    @Transactional(readOnly = true)
+    public AiInsightResponse getInsights(LocalDate date, DashboardScope scope) {
+        InsightKey key = new InsightKey(date, scope.technicianId());
+        return insights.get(key, () -> {
+            Map<LocalDate, Map<String, DailyMetricRow>> metrics =
+                    repository.fetchDailyMetricsRange(date.minusDays(1), date, scope.technicianId());
+            return buildInsights(date, metrics);
+        });
+    }
+
+    /** Computes and caches the insights of the global scope and of every technician, idle ones included. */
+    @Transactional(readOnly = true)
+    public void precompute(LocalDate date) {
+        LocalDate previous = date.minusDays(1);
+        insights.put(
+                new InsightKey(date, null),
+                buildInsights(date, repository.fetchDailyMetricsRange(previous, date, null)));
+        Map<Long, Map<LocalDate, Map<String, DailyMetricRow>>> byTechnician =
+                repository.fetchTechnicianDailyMetricsRange(previous, date);
+        for (UserEntity technician : userRepository.findByRoleOrderByIdAsc(UserRole.TECH)) {
+            Map<LocalDate, Map<String, DailyMetricRow>> metrics = byTechnician.getOrDefault(technician.getId(), Map.of());
+            insights.put(new InsightKey(date, technician.getId()), buildInsights(date, metrics));
+        }
+    }
+
+    static AiInsightResponse buildInsights(LocalDate targetDate, Map<LocalDate, Map<String, DailyMetricRow>> metrics) {
+        Map<String, DailyMetricRow> todayMetrics = metrics.getOrDefault(targetDate, Map.of());
+        Map<String, DailyMetricRow> previousMetrics = metrics.getOrDefault(targetDate.minusDays(1), Map.of());
+
+        long todayTotal = todayMetrics.values().stream().mapToLong(DailyMetricRow::count).sum();
+        long previousTotal = previousMetrics.values().stream().mapToLong(DailyMetricRow::count).sum();
+
+        double trendPercentage;
+        if (previousTotal == 0) {
+            trendPercentage = todayTotal > 0 ? 100.0 : 0.0;
+        } else {
+            trendPercentage = ((double) (todayTotal - previousTotal) / previousTotal) * 100.0;
+        }
+        String trendDirection = trendPercentage > 2.5 ? "UP" : trendPercentage < -2.5 ? "DOWN" : "FLAT";
+
+        Double validationRatio = todayMetrics.getOrDefault("VALIDATED", zeroRow("VALIDATED")).validationRatio();
+        if (validationRatio == null) {
+            long validatedCount = todayMetrics.getOrDefault("VALIDATED", zeroRow("VALIDATED")).count();
+            long completedCount = todayMetrics.getOrDefault("COMPLETED", zeroRow("COMPLETED")).count();
+            long denominator = Math.max(1, validatedCount + completedCount);
+            validationRatio = (validatedCount * 100.0) / denominator;
+        }
+        validationRatio = Math.min(100.0, Math.max(0.0, validationRatio));
+
+        Double completionAvg = Optional.ofNullable(todayMetrics.get("COMPLETED"))
+                .map(DailyMetricRow::averageCompletionSeconds)
+                .orElse(null);
+        double slaThresholdSeconds = 4 * 60 * 60; // 4 hours
+        String slaAssessment;
+        if (completionAvg == null || completionAvg <= 0) {
+            slaAssessment = "Pas assez de données pour le SLA";
+        } else if (completionAvg <= slaThresholdSeconds) {
+            slaAssessment = "SLA respectée";
+        } else if (completionAvg <= slaThresholdSeconds * 1.15) {
+            slaAssessment = "SLA proche du seuil";
+        } else {
+            slaAssessment = "SLA en risque";
+        }
+
+        String headline = switch (trendDirection) {
+            case "UP" -> "La charge augmente aujourd'hui";
+            case "DOWN" -> "Moins d'interventions que la veille";
+            default -> "Volume stable par rapport à la veille";
+        };
+
+        List<String> highlights = new ArrayList<>();
+        highlights.add(String.format(Locale.FRENCH, "Total interventions: %d (%+.1f%% vs veille)", todayTotal, trendPercentage));
+        highlights.add(String.format(Locale.FRENCH, "Taux de validation: %.1f%%", validationRatio));
+        if (completionAvg != null && completionAvg > 0) {
+            highlights.add(String.format(Locale.FRENCH, "Durée moyenne de résolution: %.1f h", completionAvg / 3600.0));
+        } else {
+            highlights.add("Durée moyenne de résolution: N/A");
+        }
+
+        String validationAssessment =
+                validationRatio >= 85 ? "Très bon niveau de validation" : validationRatio >= 70 ? "Validation à surveiller" : "Validation faible";
+
+        return new AiInsightResponse(
+                targetDate,
+                headline,
+                trendDirection,
+                roundDouble(trendPercentage, 1),
+                roundDouble(validationRatio, 1),
+                validationAssessment,
+                slaAssessment,
+                highlights);
+    }
+
+    private static DailyMetricRow zeroRow(String status) {
+        return new DailyMetricRow(status, 0L, null, null, null);
+    }
+
+    private static double roundDouble(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    record InsightKey(LocalDate date, Long technicianId) {}
+}
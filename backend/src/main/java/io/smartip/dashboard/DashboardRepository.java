@@ -1,12 +1,15 @@
 package io.smartip.dashboard;
 
 import io.smartip.dashboard.dto.InterventionMapMarker;
+import io.smartip.dashboard.dto.MapClusterResponse;
 import io.smartip.dashboard.dto.StatusTrendPoint;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -27,53 +30,14 @@ class DashboardRepository {
             """;
 
     private static final String DAILY_METRICS_TECHNICIAN_QUERY = """
-            WITH base AS (
-                SELECT
-                    status,
-                    CASE
-                        WHEN completed_at IS NOT NULL AND started_at IS NOT NULL
-                            THEN EXTRACT(EPOCH FROM completed_at - started_at)
-                        ELSE NULL
-                    END AS completion_seconds,
-                    GREATEST(
-                        COALESCE(validated_at, 'epoch'::timestamptz),
-                        COALESCE(completed_at, 'epoch'::timestamptz),
-                        COALESCE(updated_at, 'epoch'::timestamptz),
-                        COALESCE(started_at, 'epoch'::timestamptz),
-                        created_at
-                    ) AS event_instant
-                FROM interventions
-                WHERE technician_id = ?
-                  AND CAST(COALESCE(planned_at, started_at, created_at) AS DATE) = ?
-            ),
-            aggregated AS (
-                SELECT
-                    status,
-                    COUNT(*) AS total_count,
-                    AVG(completion_seconds) AS avg_completion_seconds,
-                    MAX(event_instant) AS last_event_instant
-                FROM base
-                GROUP BY status
-            ),
-            daily_completed AS (
-                SELECT
-                    SUM(CASE WHEN status IN ('COMPLETED','VALIDATED') THEN total_count ELSE 0 END) AS completed_total,
-                    SUM(CASE WHEN status = 'VALIDATED' THEN total_count ELSE 0 END) AS validated_total,
-                    MAX(last_event_instant) AS last_event_instant
-                FROM aggregated
-            )
-            SELECT
-                a.status,
-                a.total_count,
-                a.avg_completion_seconds,
-                CASE
-                    WHEN a.status = 'VALIDATED' AND dc.completed_total > 0
-                        THEN (dc.validated_total::numeric / dc.completed_total::numeric) * 100
-                    ELSE NULL
-                END AS validation_ratio,
-                dc.last_event_instant AS last_refreshed_at
-            FROM aggregated a
-            CROSS JOIN daily_completed dc
+            SELECT status,
+                   total_count,
+                   avg_completion_seconds,
+                   validation_ratio,
+                   last_refreshed_at
+            FROM analytics.intervention_daily_technician_metrics
+            WHERE technician_id = ?
+              AND metric_date = ?
             """;
 
     private static final String STATUS_TRENDS_QUERY = """
@@ -86,17 +50,25 @@ class DashboardRepository {
             """;
 
     private static final String STATUS_TRENDS_TECHNICIAN_QUERY = """
-            SELECT
-                CAST(COALESCE(planned_at, started_at, created_at) AS DATE) AS metric_date,
-                status,
-                COUNT(*) AS total_count
-            FROM interventions
+            SELECT metric_date,
+                   status,
+                   total_count
+            FROM analytics.intervention_daily_technician_metrics
             WHERE technician_id = ?
-              AND CAST(COALESCE(planned_at, started_at, created_at) AS DATE) BETWEEN ? AND ?
-            GROUP BY metric_date, status
+              AND metric_date BETWEEN ? AND ?
             ORDER BY metric_date ASC, status ASC
             """;
 
+    private static final String STATUS_ROLLUP_QUERY_TEMPLATE = """
+            SELECT %1$s AS period_start,
+                   status,
+                   total_count
+            FROM analytics.%2$s
+            WHERE technician_id = ?
+              AND %1$s BETWEEN ? AND ?
+            ORDER BY %1$s ASC, status ASC
+            """;
+
     private static final String TECHNICIAN_LOAD_QUERY_BASE = """
             SELECT t.technician_id,
                    u.full_name,
@@ -122,6 +94,35 @@ class DashboardRepository {
             FROM analytics.intervention_geo_view
             """;
 
+    private static final String MAP_CLUSTERS_QUERY = """
+            WITH cells AS (
+                SELECT intervention_id,
+                       status,
+                       latitude::float8 AS lat,
+                       longitude::float8 AS lon,
+                       FLOOR((longitude::float8 + 180.0) / 360.0 * ?)::int AS cell_x,
+                       FLOOR((1 - LN(TAN(RADIANS(latitude::float8)) + 1 / COS(RADIANS(latitude::float8))) / PI()) / 2 * ?)::int AS cell_y
+                FROM analytics.intervention_geo_view
+                WHERE point(longitude::float8, latitude::float8) <@ box(point(?, ?), point(?, ?))
+                  %s
+            )
+            SELECT cell_x,
+                   cell_y,
+                   COUNT(*) AS total_count,
+                   AVG(lat) AS latitude,
+                   AVG(lon) AS longitude,
+                   MIN(intervention_id) AS first_intervention_id,
+                   COUNT(*) FILTER (WHERE status = 'SCHEDULED') AS scheduled_count,
+                   COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_count,
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed_count,
+                   COUNT(*) FILTER (WHERE status = 'VALIDATED') AS validated_count
+            FROM cells
+            WHERE cell_x BETWEEN ? AND ?
+              AND cell_y BETWEEN ? AND ?
+            GROUP BY cell_x, cell_y
+            ORDER BY total_count DESC
+            """;
+
     private static final String DAILY_TOTALS_QUERY = """
             SELECT metric_date,
                    SUM(total_count) AS total_count
@@ -132,16 +133,60 @@ class DashboardRepository {
             """;
 
     private static final String DAILY_TOTALS_TECHNICIAN_QUERY = """
-            SELECT
-                CAST(COALESCE(planned_at, started_at, created_at) AS DATE) AS metric_date,
-                COUNT(*) AS total_count
-            FROM interventions
+            SELECT metric_date,
+                   SUM(total_count) AS total_count
+            FROM analytics.intervention_daily_technician_metrics
             WHERE technician_id = ?
-              AND CAST(COALESCE(planned_at, started_at, created_at) AS DATE) BETWEEN ? AND ?
+              AND metric_date BETWEEN ? AND ?
             GROUP BY metric_date
             ORDER BY metric_date ASC
             """;
 
+    private static final String DAILY_METRICS_RANGE_QUERY = """
+            SELECT metric_date,
+                   status,
+                   total_count,
+                   avg_completion_seconds,
+                   validation_ratio,
+                   last_refreshed_at
+            FROM analytics.intervention_daily_metrics
+            WHERE metric_date BETWEEN ? AND ?
+            """;
+
+    private static final String DAILY_METRICS_TECHNICIAN_RANGE_QUERY = """
+            SELECT technician_id,
+                   metric_date,
+                   status,
+                   total_count,
+                   avg_completion_seconds,
+                   validation_ratio,
+                   last_refreshed_at
+            FROM analytics.intervention_daily_technician_metrics
+            WHERE technician_id = ?
+              AND metric_date BETWEEN ? AND ?
+            """;
+
+    private static final String DAILY_METRICS_ALL_TECHNICIANS_RANGE_QUERY = """
+            SELECT technician_id,
+                   metric_date,
+                   status,
+                   total_count,
+                   avg_completion_seconds,
+                   validation_ratio,
+                   last_refreshed_at
+            FROM analytics.intervention_daily_technician_metrics
+            WHERE metric_date BETWEEN ? AND ?
+            """;
+
+    private static final String DAILY_TOTALS_ALL_TECHNICIANS_QUERY = """
+            SELECT technician_id,
+                   metric_date,
+                   SUM(total_count) AS total_count
+            FROM analytics.intervention_daily_technician_metrics
+            WHERE metric_date BETWEEN ? AND ?
+            GROUP BY technician_id, metric_date
+            """;
+
     private final JdbcTemplate jdbcTemplate;
 
     DashboardRepository(JdbcTemplate jdbcTemplate) {
@@ -157,7 +202,7 @@ class DashboardRepository {
                     DAILY_METRICS_TECHNICIAN_QUERY,
                     this::mapDailyMetric,
                     technicianId,
-                    java.sql.Date.valueOf(date));
+                    date);
         }
         Map<String, DailyMetricRow> byStatus = new HashMap<>(rows.size());
         for (DailyMetricRow row : rows) {
@@ -166,7 +211,48 @@ class DashboardRepository {
         return byStatus;
     }
 
-    List<StatusTrendPoint> fetchStatusTrends(LocalDate from, LocalDate to, Long technicianId) {
+    /** Daily metrics between {@code from} and {@code to}, per date then per status, in one round trip. */
+    Map<LocalDate, Map<String, DailyMetricRow>> fetchDailyMetricsRange(LocalDate from, LocalDate to, Long technicianId) {
+        Map<LocalDate, Map<String, DailyMetricRow>> byDate = new HashMap<>();
+        org.springframework.jdbc.core.RowCallbackHandler collector = rs -> byDate
+                .computeIfAbsent(rs.getObject("metric_date", LocalDate.class), date -> new HashMap<>())
+                .put(rs.getString("status"), mapDailyMetric(rs, 0));
+        if (technicianId == null) {
+            jdbcTemplate.query(DAILY_METRICS_RANGE_QUERY, collector, from, to);
+        } else {
+            jdbcTemplate.query(DAILY_METRICS_TECHNICIAN_RANGE_QUERY, collector, technicianId, from, to);
+        }
+        return byDate;
+    }
+
+    /** Same as {@link #fetchDailyMetricsRange} for every technician at once, keyed by technician id first. */
+    Map<Long, Map<LocalDate, Map<String, DailyMetricRow>>> fetchTechnicianDailyMetricsRange(LocalDate from, LocalDate to) {
+        Map<Long, Map<LocalDate, Map<String, DailyMetricRow>>> byTechnician = new HashMap<>();
+        jdbcTemplate.query(
+                DAILY_METRICS_ALL_TECHNICIANS_RANGE_QUERY,
+                (org.springframework.jdbc.core.RowCallbackHandler) rs -> byTechnician
+                        .computeIfAbsent(rs.getLong("technician_id"), id -> new HashMap<>())
+                        .computeIfAbsent(rs.getObject("metric_date", LocalDate.class), date -> new HashMap<>())
+                        .put(rs.getString("status"), mapDailyMetric(rs, 0)),
+                from,
+                to);
+        return byTechnician;
+    }
+
+    List<StatusTrendPoint> fetchStatusTrends(
+            LocalDate from, LocalDate to, Long technicianId, TrendGranularity granularity) {
+        if (granularity != TrendGranularity.DAY) {
+            return jdbcTemplate.query(
+                    STATUS_ROLLUP_QUERY_TEMPLATE.formatted(
+                            StatusTrendRollups.periodColumn(granularity), StatusTrendRollups.table(granularity)),
+                    (rs, rowNum) -> new StatusTrendPoint(
+                            rs.getObject("period_start", LocalDate.class),
+                            rs.getString("status"),
+                            rs.getLong("total_count")),
+                    technicianId != null ? technicianId : 0L,
+                    granularity.periodStart(from),
+                    to);
+        }
         if (technicianId == null) {
             return jdbcTemplate.query(
                     STATUS_TRENDS_QUERY,
@@ -237,6 +323,58 @@ class DashboardRepository {
                 mapInterventionMarker());
     }
 
+    List<InterventionMapMarker> fetchMapMarkerPage(
+            List<String> statuses, Long technicianId, MapViewport viewport, MapCursor cursor, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (statuses != null && !statuses.isEmpty()) {
+            conditions.add("status IN (" + String.join(", ", java.util.Collections.nCopies(statuses.size(), "?")) + ")");
+            params.addAll(statuses);
+        }
+        if (technicianId != null) {
+            conditions.add("technician_id = ?");
+            params.add(technicianId);
+        }
+        if (viewport != null) {
+            // matches the GiST expression index idx_intervention_geo_view_point
+            conditions.add("point(longitude::float8, latitude::float8) <@ box(point(?, ?), point(?, ?))");
+            params.addAll(List.of(
+                    viewport.minLongitude(), viewport.minLatitude(), viewport.maxLongitude(), viewport.maxLatitude()));
+        }
+        if (cursor != null) {
+            conditions.add("(updated_at, intervention_id) < (?, ?)");
+            params.add(java.sql.Timestamp.from(cursor.updatedAt()));
+            params.add(cursor.interventionId());
+        }
+        StringBuilder sql = new StringBuilder(MAP_QUERY_BASE);
+        if (!conditions.isEmpty()) {
+            sql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        sql.append("ORDER BY updated_at DESC, intervention_id DESC LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), mapInterventionMarker(), params.toArray());
+    }
+
+    List<MapClusterResponse> fetchMapClusters(
+            MapTiles.Bounds bounds, double cellScale, int firstCellX, int firstCellY, Long technicianId) {
+        List<Object> params = new ArrayList<>(List.of(
+                cellScale,
+                cellScale,
+                bounds.west(),
+                bounds.south(),
+                bounds.east(),
+                bounds.north()));
+        String technicianFilter = "";
+        if (technicianId != null) {
+            technicianFilter = "AND technician_id = ?";
+            params.add(technicianId);
+        }
+        int lastCell = MapTiles.CELLS_PER_AXIS - 1;
+        params.addAll(List.of(firstCellX, firstCellX + lastCell, firstCellY, firstCellY + lastCell));
+        return jdbcTemplate.query(
+                MAP_CLUSTERS_QUERY.formatted(technicianFilter), this::mapCluster, params.toArray());
+    }
+
     Map<LocalDate, Long> fetchDailyTotals(LocalDate from, LocalDate to, Long technicianId) {
         Map<LocalDate, Long> totals = new HashMap<>();
         if (technicianId == null) {
@@ -270,6 +408,22 @@ class DashboardRepository {
         return totals;
     }
 
+    Map<Long, Map<LocalDate, Long>> fetchDailyTotalsByTechnician(LocalDate from, LocalDate to) {
+        Map<Long, Map<LocalDate, Long>> totals = new HashMap<>();
+        jdbcTemplate.query(
+                DAILY_TOTALS_ALL_TECHNICIANS_QUERY,
+                (org.springframework.jdbc.core.ResultSetExtractor<Void>) rs -> {
+                    while (rs.next()) {
+                        totals.computeIfAbsent(rs.getLong("technician_id"), id -> new HashMap<>())
+                                .put(rs.getObject("metric_date", LocalDate.class), rs.getLong("total_count"));
+                    }
+                    return null;
+                },
+                from,
+                to);
+        return totals;
+    }
+
     private DailyMetricRow mapDailyMetric(ResultSet rs, int rowNum) throws SQLException {
         return new DailyMetricRow(
                 rs.getString("status"),
@@ -301,6 +455,27 @@ class DashboardRepository {
                 getInstant(rs, "updated_at"));
     }
 
+    private MapClusterResponse mapCluster(ResultSet rs, int rowNum) throws SQLException {
+        long count = rs.getLong("total_count");
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        putIfPositive(statusCounts, "SCHEDULED", rs.getLong("scheduled_count"));
+        putIfPositive(statusCounts, "IN_PROGRESS", rs.getLong("in_progress_count"));
+        putIfPositive(statusCounts, "COMPLETED", rs.getLong("completed_count"));
+        putIfPositive(statusCounts, "VALIDATED", rs.getLong("validated_count"));
+        return new MapClusterResponse(
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                count,
+                statusCounts,
+                count == 1 ? rs.getLong("first_intervention_id") : null);
+    }
+
+    private void putIfPositive(Map<String, Long> counts, String status, long value) {
+        if (value > 0) {
+            counts.put(status, value);
+        }
+    }
+
     private Double getNullableDouble(ResultSet rs, String column) throws SQLException {
         double value = rs.getDouble(column);
         return rs.wasNull() ? null : value;
@@ -0,0 +1,20 @@
+package io.smartip.dashboard;
+
+import io.smartip.domain.UserRole;
+import io.smartip.security.AuthenticatedUser;
+
+/**
+ * Requester of a dashboard read, resolved once per request. {@code technicianId} is set for technicians only and
+ * restricts every section to their interventions; admins and dispatchers share the unrestricted view, which is
+ * why cache keys use the technician id rather than the email.
+ */
+public record DashboardScope(String email, UserRole role, Long technicianId) {
+
+    public static DashboardScope of(AuthenticatedUser user) {
+        return new DashboardScope(user.email(), user.role(), user.isTechnician() ? user.id() : null);
+    }
+
+    public boolean restricted() {
+        return technicianId != null;
+    }
+}
@@ -3,26 +3,25 @@ package io.smartip.dashboard;
 import io.smartip.dashboard.DashboardRepository.DailyMetricRow;
 import io.smartip.dashboard.dto.DashboardSummaryResponse;
 import io.smartip.dashboard.dto.InterventionMapMarker;
+import io.smartip.dashboard.dto.MapMarkerPage;
 import io.smartip.dashboard.dto.StatusTrendPoint;
 import io.smartip.dashboard.dto.TechnicianLoadResponse;
 import io.smartip.dashboard.dto.AiInsightResponse;
-import io.smartip.dashboard.dto.ForecastPointResponse;
 import io.smartip.dashboard.dto.ForecastResponse;
-import io.smartip.domain.UserEntity;
-import io.smartip.domain.UserRepository;
 import io.smartip.domain.UserRole;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,20 +30,38 @@ import org.springframework.transaction.annotation.Transactional;
 public class DashboardService {
 
     private static final int MAP_DEFAULT_LIMIT = 500;
+    private static final int MAP_PAGE_MAX_LIMIT = 1000;
+    private static final int MAX_COORDINATE_DECIMALS = 6;
 
     private final DashboardRepository repository;
-    private final UserRepository userRepository;
+    private final DashboardForecastService forecastService;
+    private final DashboardInsightsService insightsService;
+    private final Clock clock;
+
+    @Autowired
+    public DashboardService(
+            DashboardRepository repository,
+            DashboardForecastService forecastService,
+            DashboardInsightsService insightsService,
+            ObjectProvider<Clock> clockProvider) {
+        this(repository, forecastService, insightsService, clockProvider.getIfAvailable(Clock::systemUTC));
+    }
 
-    public DashboardService(DashboardRepository repository, UserRepository userRepository) {
+    DashboardService(
+            DashboardRepository repository,
+            DashboardForecastService forecastService,
+            DashboardInsightsService insightsService,
+            Clock clock) {
         this.repository = repository;
-        this.userRepository = userRepository;
+        this.forecastService = forecastService;
+        this.insightsService = insightsService;
+        this.clock = clock;
     }
 
-    @Cacheable(cacheNames = "dashboard-summary")
+    @Cacheable(cacheNames = "dashboard-summary", key = "{#date, #scope.technicianId()}")
     @Transactional(readOnly = true)
-    public DashboardSummaryResponse getSummary(LocalDate date, String requesterEmail, UserRole requesterRole) {
-        Long technicianId = resolveTechnicianId(requesterEmail, requesterRole).orElse(null);
-        Map<String, DailyMetricRow> metrics = repository.fetchDailyMetrics(date, technicianId);
+    public DashboardSummaryResponse getSummary(LocalDate date, DashboardScope scope) {
+        Map<String, DailyMetricRow> metrics = repository.fetchDailyMetrics(date, scope.technicianId());
         long scheduled = metrics.getOrDefault("SCHEDULED", zeroRow("SCHEDULED")).count();
         long inProgress = metrics.getOrDefault("IN_PROGRESS", zeroRow("IN_PROGRESS")).count();
         long completed = metrics.getOrDefault("COMPLETED", zeroRow("COMPLETED")).count();
@@ -71,26 +88,19 @@ public class DashboardService {
                 refreshedAt);
     }
 
-    @Cacheable(cacheNames = "dashboard-status-trends")
+    @Cacheable(cacheNames = "dashboard-status-trends", key = "{#from, #to, #granularity, #scope.technicianId()}")
     @Transactional(readOnly = true)
-    public List<StatusTrendPoint> getStatusTrends(LocalDate from, LocalDate to, String requesterEmail, UserRole requesterRole) {
-        Long technicianId = resolveTechnicianId(requesterEmail, requesterRole).orElse(null);
-        return repository.fetchStatusTrends(from, to, technicianId);
+    public List<StatusTrendPoint> getStatusTrends(
+            LocalDate from, LocalDate to, TrendGranularity granularity, DashboardScope scope) {
+        return repository.fetchStatusTrends(from, to, scope.technicianId(), granularity);
     }
 
-    @Cacheable(cacheNames = "dashboard-technician-load")
+    @Cacheable(cacheNames = "dashboard-technician-load", key = "{#scope.technicianId()}")
     @Transactional(readOnly = true)
-    public List<TechnicianLoadResponse> getTechnicianLoad(String requesterEmail, UserRole requesterRole) {
-        boolean canViewAll = requesterRole == UserRole.ADMIN || requesterRole == UserRole.DISPATCHER;
-        List<TechnicianLoadSnapshot> rows;
-        if (canViewAll) {
-            rows = repository.fetchTechnicianLoadSnapshots();
-        } else {
-            UserEntity technician = userRepository
-                    .findByEmailIgnoreCase(requesterEmail)
-                    .orElseThrow(() -> new IllegalArgumentException("Unknown technician " + requesterEmail));
-            rows = repository.fetchTechnicianLoad(technician.getId());
-        }
+    public List<TechnicianLoadResponse> getTechnicianLoad(DashboardScope scope) {
+        List<TechnicianLoadSnapshot> rows = scope.restricted()
+                ? repository.fetchTechnicianLoad(scope.technicianId())
+                : repository.fetchTechnicianLoadSnapshots();
         return rows.stream()
                 .map(row -> new TechnicianLoadResponse(
                         row.technicianId(),
@@ -103,17 +113,15 @@ public class DashboardService {
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(cacheNames = "dashboard-map")
+    @Cacheable(
+            cacheNames = "dashboard-map",
+            key = "{#statuses, #preciseCoordinates, #limit, #scope.role(), #scope.technicianId()}")
     @Transactional(readOnly = true)
     public List<InterventionMapMarker> getMapMarkers(
-            List<String> statuses, boolean preciseCoordinates, int limit, String requesterEmail, UserRole requesterRole) {
-        Long technicianId = resolveTechnicianId(requesterEmail, requesterRole).orElse(null);
-        List<String> normalizedStatuses = Optional.ofNullable(statuses)
-                .orElse(List.of())
-                .stream()
-                .map(status -> status.trim().toUpperCase(Locale.ROOT))
-                .filter(status -> !status.isBlank())
-                .collect(Collectors.toList());
+            List<String> statuses, boolean preciseCoordinates, int limit, DashboardScope scope) {
+        Long technicianId = scope.technicianId();
+        UserRole requesterRole = scope.role();
+        List<String> normalizedStatuses = normalizeStatuses(statuses);
 
         int cappedLimit = limit > 0 ? Math.min(limit, MAP_DEFAULT_LIMIT) : MAP_DEFAULT_LIMIT;
 
@@ -135,130 +143,46 @@ public class DashboardService {
     }
 
     @Transactional(readOnly = true)
-    public AiInsightResponse getAiInsights(LocalDate date, String requesterEmail, UserRole requesterRole) {
-        LocalDate targetDate = date != null ? date : LocalDate.now();
-        Long technicianId = resolveTechnicianId(requesterEmail, requesterRole).orElse(null);
-
-        Map<String, DailyMetricRow> todayMetrics = repository.fetchDailyMetrics(targetDate, technicianId);
-        Map<String, DailyMetricRow> previousMetrics =
-                repository.fetchDailyMetrics(targetDate.minusDays(1), technicianId);
-
-        long todayTotal = todayMetrics.values().stream().mapToLong(DailyMetricRow::count).sum();
-        long previousTotal = previousMetrics.values().stream().mapToLong(DailyMetricRow::count).sum();
-
-        double trendPercentage;
-        if (previousTotal == 0) {
-            trendPercentage = todayTotal > 0 ? 100.0 : 0.0;
-        } else {
-            trendPercentage = ((double) (todayTotal - previousTotal) / previousTotal) * 100.0;
+    public MapMarkerPage getMapMarkerPage(MapMarkerQuery query, boolean preciseCoordinates, DashboardScope scope) {
+        Long technicianId = scope.technicianId();
+        UserRole requesterRole = scope.role();
+        int pageSize = query.limit() > 0 ? Math.min(query.limit(), MAP_PAGE_MAX_LIMIT) : MAP_DEFAULT_LIMIT;
+
+        List<InterventionMapMarker> rows = repository.fetchMapMarkerPage(
+                normalizeStatuses(query.statuses()), technicianId, query.viewport(), query.cursor(), pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            InterventionMapMarker last = rows.getLast();
+            nextCursor = new MapCursor(last.updatedAt(), last.interventionId()).encode();
         }
-        String trendDirection = trendPercentage > 2.5 ? "UP" : trendPercentage < -2.5 ? "DOWN" : "FLAT";
 
-        Double validationRatio = todayMetrics.getOrDefault("VALIDATED", zeroRow("VALIDATED")).validationRatio();
-        if (validationRatio == null) {
-            long validatedCount = todayMetrics.getOrDefault("VALIDATED", zeroRow("VALIDATED")).count();
-            long completedCount = todayMetrics.getOrDefault("COMPLETED", zeroRow("COMPLETED")).count();
-            long denominator = Math.max(1, validatedCount + completedCount);
-            validationRatio = (validatedCount * 100.0) / denominator;
+        int decimals = preciseCoordinates || requesterRole == UserRole.TECH ? MAX_COORDINATE_DECIMALS : 2;
+        if (query.zoom() != null) {
+            decimals = Math.min(decimals, decimalsForZoom(query.zoom()));
         }
-        validationRatio = Math.min(100.0, Math.max(0.0, validationRatio));
-
-        Double completionAvg = Optional.ofNullable(todayMetrics.get("COMPLETED"))
-                .map(DailyMetricRow::averageCompletionSeconds)
-                .orElse(null);
-        double slaThresholdSeconds = 4 * 60 * 60; // 4 hours
-        String slaAssessment;
-        if (completionAvg == null || completionAvg <= 0) {
-            slaAssessment = "Pas assez de données pour le SLA";
-        } else if (completionAvg <= slaThresholdSeconds) {
-            slaAssessment = "SLA respectée";
-        } else if (completionAvg <= slaThresholdSeconds * 1.15) {
-            slaAssessment = "SLA proche du seuil";
-        } else {
-            slaAssessment = "SLA en risque";
+        if (decimals < MAX_COORDINATE_DECIMALS) {
+            int precision = decimals;
+            rows = rows.stream()
+                    .map(marker -> new InterventionMapMarker(
+                            marker.interventionId(),
+                            round(marker.latitude(), precision),
+                            round(marker.longitude(), precision),
+                            marker.status(),
+                            marker.technicianId(),
+                            marker.plannedAt(),
+                            marker.updatedAt()))
+                    .collect(Collectors.toList());
         }
-
-        String headline = switch (trendDirection) {
-            case "UP" -> "La charge augmente aujourd'hui";
-            case "DOWN" -> "Moins d'interventions que la veille";
-            default -> "Volume stable par rapport à la veille";
-        };
-
-        List<String> highlights = new ArrayList<>();
-        highlights.add(String.format(Locale.FRENCH, "Total interventions: %d (%+.1f%% vs veille)", todayTotal, trendPercentage));
-        highlights.add(String.format(Locale.FRENCH, "Taux de validation: %.1f%%", validationRatio));
-        if (completionAvg != null && completionAvg > 0) {
-            highlights.add(String.format(Locale.FRENCH, "Durée moyenne de résolution: %.1f h", completionAvg / 3600.0));
-        } else {
-            highlights.add("Durée moyenne de résolution: N/A");
-        }
-
-        String validationAssessment =
-                validationRatio >= 85 ? "Très bon niveau de validation" : validationRatio >= 70 ? "Validation à surveiller" : "Validation faible";
-
-        return new AiInsightResponse(
-                targetDate,
-                headline,
-                trendDirection,
-                roundDouble(trendPercentage, 1),
-                roundDouble(validationRatio, 1),
-                validationAssessment,
-                slaAssessment,
-                highlights);
+        return new MapMarkerPage(List.copyOf(rows), nextCursor);
     }
 
-    @Transactional(readOnly = true)
-    public ForecastResponse getForecast(LocalDate date, String requesterEmail, UserRole requesterRole) {
-        LocalDate endDate = date != null ? date : LocalDate.now();
-        LocalDate startDate = endDate.minusDays(20);
-        Long technicianId = resolveTechnicianId(requesterEmail, requesterRole).orElse(null);
-
-        Map<LocalDate, Long> totals = repository.fetchDailyTotals(startDate, endDate, technicianId);
-
-        double alpha = 0.5;
-        List<LocalDate> orderedDates = new ArrayList<>();
-        for (LocalDate cursor = startDate; !cursor.isAfter(endDate); cursor = cursor.plusDays(1)) {
-            orderedDates.add(cursor);
-        }
-
-        double forecast = 0;
-        boolean initialized = false;
-        long lastObserved = 0;
-        double totalSum = 0;
-        int totalCount = 0;
-
-        for (LocalDate current : orderedDates) {
-            long actual = totals.getOrDefault(current, 0L);
-            if (!initialized) {
-                forecast = actual;
-                initialized = true;
-            } else {
-                forecast = alpha * actual + (1 - alpha) * forecast;
-            }
-            lastObserved = actual;
-            totalSum += actual;
-            totalCount++;
-        }
-
-        double baselineAverage = totalCount > 0 ? totalSum / totalCount : 0;
-        List<ForecastPointResponse> points = new ArrayList<>();
-        double rollingForecast = forecast;
-        long lastForPrediction = lastObserved;
-        LocalDate cursor = endDate;
-        for (int i = 1; i <= 7; i++) {
-            rollingForecast = alpha * lastForPrediction + (1 - alpha) * rollingForecast;
-            long predicted = Math.max(0, Math.round(rollingForecast));
-            points.add(new ForecastPointResponse(cursor.plusDays(i), predicted));
-            lastForPrediction = predicted;
-        }
+    public AiInsightResponse getAiInsights(LocalDate date, DashboardScope scope) {
+        return insightsService.getInsights(date != null ? date : LocalDate.now(clock), scope);
+    }
 
-        return new ForecastResponse(
-                Instant.now().truncatedTo(ChronoUnit.SECONDS),
-                "simple-exponential-smoothing",
-                alpha,
-                lastObserved,
-                roundDouble(baselineAverage, 1),
-                points);
+    public ForecastResponse getForecast(LocalDate date, DashboardScope scope) {
+        return forecastService.getForecast(date != null ? date : LocalDate.now(clock), scope);
     }
 
     @Transactional(readOnly = true)
@@ -266,25 +190,27 @@ public class DashboardService {
         return repository.fetchTechnicianLoadSnapshots();
     }
 
-    private DailyMetricRow zeroRow(String status) {
-        return new DailyMetricRow(status, 0L, null, null, null);
+    private List<String> normalizeStatuses(List<String> statuses) {
+        return Optional.ofNullable(statuses)
+                .orElse(List.of())
+                .stream()
+                .map(status -> status.trim().toUpperCase(Locale.ROOT))
+                .filter(status -> !status.isBlank())
+                .collect(Collectors.toList());
     }
 
-    private Optional<Long> resolveTechnicianId(String email, UserRole role) {
-        if (role != UserRole.TECH) {
-            return Optional.empty();
-        }
-        return userRepository
-                .findByEmailIgnoreCase(email)
-                .map(UserEntity::getId);
+    /** Decimals needed so that rounding stays below one pixel of a 256px tile at the given zoom. */
+    private int decimalsForZoom(int zoom) {
+        double degreesPerPixel = 360.0 / (256.0 * (1L << zoom));
+        int decimals = (int) Math.ceil(-Math.log10(degreesPerPixel));
+        return Math.clamp(decimals, 0, MAX_COORDINATE_DECIMALS);
     }
 
-    private double round(double value, int decimals) {
-        double scale = Math.pow(10, decimals);
-        return Math.round(value * scale) / scale;
+    private DailyMetricRow zeroRow(String status) {
+        return new DailyMetricRow(status, 0L, null, null, null);
     }
 
-    private double roundDouble(double value, int decimals) {
+    private double round(double value, int decimals) {
         double scale = Math.pow(10, decimals);
         return Math.round(value * scale) / scale;
     }
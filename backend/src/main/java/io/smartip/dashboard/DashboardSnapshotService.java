@@ -0,0 +1,106 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.dto.AiInsightResponse;
+import io.smartip.dashboard.dto.DashboardSnapshotResponse;
+import io.smartip.dashboard.dto.DashboardSummaryResponse;
+import io.smartip.dashboard.dto.ForecastResponse;
+import io.smartip.dashboard.dto.InterventionMapMarker;
+import io.smartip.dashboard.dto.StatusTrendPoint;
+import io.smartip.dashboard.dto.TechnicianLoadResponse;
+import io.smartip.domain.UserRole;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads every dashboard section for one scope concurrently, one virtual thread per section, through the cached
+ * {@link DashboardService} methods. The response is as slow as the slowest section instead of their sum. Each section
+ * runs in a read-only transaction holding a pooled connection, so at most {@code dashboard.snapshot.max-connections}
+ * sections run at once across all snapshot requests; the others wait for a permit.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final int TREND_DAYS = 14;
+
+    private final DashboardService dashboardService;
+    private final Semaphore connections;
+
+    public DashboardSnapshotService(
+            DashboardService dashboardService, @Value("${dashboard.snapshot.max-connections:2}") int maxConnections) {
+        this.dashboardService = dashboardService;
+        this.connections = new Semaphore(Math.max(1, maxConnections), true);
+    }
+
+    public DashboardSnapshotResponse load(LocalDate date, DashboardScope scope) {
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+        boolean precise = scope.role() == UserRole.ADMIN;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<DashboardSummaryResponse> summary =
+                    section("summary", timings, executor, () -> dashboardService.getSummary(date, scope));
+            CompletableFuture<List<StatusTrendPoint>> trends = section("statusTrends", timings, executor,
+                    () -> dashboardService.getStatusTrends(date.minusDays(TREND_DAYS - 1L), date, TrendGranularity.DAY, scope));
+            CompletableFuture<List<TechnicianLoadResponse>> load =
+                    section("technicianLoad", timings, executor, () -> dashboardService.getTechnicianLoad(scope));
+            CompletableFuture<AiInsightResponse> insights =
+                    section("insights", timings, executor, () -> dashboardService.getAiInsights(date, scope));
+            CompletableFuture<ForecastResponse> forecast =
+                    section("forecast", timings, executor, () -> dashboardService.getForecast(date, scope));
+            // same arguments as an unfiltered /map request, so both share one cache entry
+            CompletableFuture<List<InterventionMapMarker>> map = section("map", timings, executor,
+                    () -> dashboardService.getMapMarkers(null, precise, 0, scope));
+
+            CompletableFuture.allOf(summary, trends, load, insights, forecast, map).join();
+            return new DashboardSnapshotResponse(
+                    summary.join(),
+                    trends.join(),
+                    load.join(),
+                    insights.join(),
+                    forecast.join(),
+                    map.join(),
+                    ordered(timings));
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private <T> CompletableFuture<T> section(
+            String name, Map<String, Long> timings, ExecutorService executor, Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                connections.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to load dashboard section " + name, ex);
+            }
+            try {
+                return loader.get();
+            } finally {
+                connections.release();
+                timings.put(name, (System.nanoTime() - start) / 1_000_000);
+            }
+        }, executor);
+    }
+
+    private static Map<String, Long> ordered(Map<String, Long> timings) {
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (String name : List.of("summary", "statusTrends", "technicianLoad", "insights", "forecast", "map")) {
+            ordered.put(name, timings.get(name));
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,142 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.dto.DashboardDelta;
+import io.smartip.dashboard.dto.InterventionMapMarker;
+import io.smartip.domain.InterventionStatus;
+import io.smartip.domain.UserRole;
+import io.smartip.interventions.InterventionChangeEvent;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One SSE subscriber. Changes are folded into pending state as they happen (counters are summed, markers keep
+ * their latest position), so a client receives at most one event per flush however many changes occurred.
+ */
+class DashboardStreamClient {
+
+    private final SseEmitter emitter;
+    private final UserRole role;
+    private final Long technicianId;
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private final Map<String, Long> summary = new TreeMap<>();
+    private final Map<Long, Long> technicianOpenCounts = new TreeMap<>();
+    private final Map<Long, InterventionMapMarker> markerUpserts = new LinkedHashMap<>();
+    private final Set<Long> markerRemovals = new LinkedHashSet<>();
+    private volatile long lastSentAt = System.currentTimeMillis();
+
+    DashboardStreamClient(SseEmitter emitter, UserRole role, Long technicianId) {
+        this.emitter = emitter;
+        this.role = role;
+        this.technicianId = technicianId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    synchronized void apply(InterventionChangeEvent event, LocalDate today) {
+        boolean ownsCurrent = isVisible(event.technicianId());
+        boolean ownsPrevious = isVisible(event.previousTechnicianId());
+        boolean deleted = event.type() == InterventionChangeEvent.Type.DELETED;
+
+        if (ownsPrevious && event.previousStatus() != null && isOn(event.previousPlannedAt(), today)) {
+            summary.merge(event.previousStatus().name(), -1L, Long::sum);
+        }
+        if (ownsCurrent && !deleted && event.status() != null && isOn(event.plannedAt(), today)) {
+            summary.merge(event.status().name(), 1L, Long::sum);
+        }
+        if (ownsPrevious && event.previousTechnicianId() != null && isOpen(event.previousStatus())) {
+            technicianOpenCounts.merge(event.previousTechnicianId(), -1L, Long::sum);
+        }
+        if (ownsCurrent && !deleted && event.technicianId() != null && isOpen(event.status())) {
+            technicianOpenCounts.merge(event.technicianId(), 1L, Long::sum);
+        }
+        summary.values().removeIf(delta -> delta == 0);
+        technicianOpenCounts.values().removeIf(delta -> delta == 0);
+
+        long interventionId = event.interventionId();
+        if (ownsCurrent && !deleted && event.latitude() != null && event.longitude() != null) {
+            markerRemovals.remove(interventionId);
+            markerUpserts.put(interventionId, marker(event));
+        } else if (ownsCurrent || ownsPrevious) {
+            markerUpserts.remove(interventionId);
+            markerRemovals.add(interventionId);
+        }
+    }
+
+    /** Returns the pending changes and resets them, or {@code null} when nothing changed. */
+    synchronized DashboardDelta drain() {
+        if (summary.isEmpty() && technicianOpenCounts.isEmpty() && markerUpserts.isEmpty() && markerRemovals.isEmpty()) {
+            return null;
+        }
+        DashboardDelta delta = new DashboardDelta(
+                Map.copyOf(summary),
+                Map.copyOf(technicianOpenCounts),
+                new ArrayList<>(markerUpserts.values()),
+                new ArrayList<>(markerRemovals));
+        summary.clear();
+        technicianOpenCounts.clear();
+        markerUpserts.clear();
+        markerRemovals.clear();
+        return delta;
+    }
+
+    /** Ensures a single send per client is in flight; a slow client simply coalesces more changes. */
+    boolean tryStartSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void finishSending(boolean sent) {
+        if (sent) {
+            lastSentAt = System.currentTimeMillis();
+        }
+        sending.set(false);
+    }
+
+    long lastSentAt() {
+        return lastSentAt;
+    }
+
+    private boolean isVisible(Long interventionTechnicianId) {
+        if (role != UserRole.TECH) {
+            return true;
+        }
+        return interventionTechnicianId != null && Objects.equals(interventionTechnicianId, technicianId);
+    }
+
+    private InterventionMapMarker marker(InterventionChangeEvent event) {
+        double latitude = event.latitude();
+        double longitude = event.longitude();
+        if (role == UserRole.DISPATCHER) {
+            latitude = Math.round(latitude * 100) / 100.0;
+            longitude = Math.round(longitude * 100) / 100.0;
+        }
+        return new InterventionMapMarker(
+                event.interventionId(),
+                latitude,
+                longitude,
+                event.status().name(),
+                event.technicianId(),
+                event.plannedAt(),
+                event.occurredAt());
+    }
+
+    private static boolean isOn(Instant instant, LocalDate day) {
+        return instant != null && instant.atZone(ZoneOffset.UTC).toLocalDate().equals(day);
+    }
+
+    private static boolean isOpen(InterventionStatus status) {
+        return status == InterventionStatus.SCHEDULED || status == InterventionStatus.IN_PROGRESS;
+    }
+}
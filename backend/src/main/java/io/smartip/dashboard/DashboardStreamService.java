@@ -0,0 +1,116 @@
+package io.smartip.dashboard;
+
+import io.smartip.interventions.InterventionChangeEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes dashboard deltas derived from {@link InterventionChangeEvent}s to SSE subscribers. Events are folded into
+ * each client's pending state on arrival; a scheduled flush then hands every client with changes to a virtual
+ * thread, so thousands of connections cost neither a platform thread each nor one write per change.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final long HEARTBEAT_INTERVAL_MS = 15_000;
+
+    private final Set<DashboardStreamClient> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // reserved before a client is added and released once when it is removed, so concurrent subscribes cannot overshoot
+    private final Semaphore slots;
+    private final long timeoutMs;
+
+    public DashboardStreamService(
+            @Value("${dashboard.stream.max-clients:5000}") int maxClients,
+            @Value("${dashboard.stream.timeout:1800000}") long timeoutMs) {
+        this.slots = new Semaphore(Math.max(maxClients, 0));
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(DashboardScope scope) {
+        if (!slots.tryAcquire()) {
+            throw new DashboardStreamUnavailableException("Too many dashboard stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        DashboardStreamClient client = new DashboardStreamClient(emitter, scope.role(), scope.technicianId());
+        clients.add(client);
+        emitter.onCompletion(() -> remove(client));
+        emitter.onTimeout(() -> remove(client));
+        emitter.onError(ex -> remove(client));
+        try {
+            emitter.send(SseEmitter.event().name("ready").data(scope.role().name()));
+        } catch (IOException ex) {
+            remove(client);
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onInterventionChange(InterventionChangeEvent event) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (DashboardStreamClient client : clients) {
+            client.apply(event, today);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.flush-interval:1000}")
+    public void flush() {
+        for (DashboardStreamClient client : clients) {
+            if (client.tryStartSending()) {
+                senders.execute(() -> send(client));
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return clients.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        clients.forEach(client -> client.emitter().complete());
+        clients.clear();
+        senders.shutdownNow();
+    }
+
+    private void remove(DashboardStreamClient client) {
+        // completion, timeout, error and a failed send may all report the same client
+        if (clients.remove(client)) {
+            slots.release();
+        }
+    }
+
+    private void send(DashboardStreamClient client) {
+        boolean sent = false;
+        try {
+            var delta = client.drain();
+            if (delta != null) {
+                client.emitter().send(SseEmitter.event().name("delta").data(delta, MediaType.APPLICATION_JSON));
+                sent = true;
+            } else if (System.currentTimeMillis() - client.lastSentAt() >= HEARTBEAT_INTERVAL_MS) {
+                client.emitter().send(SseEmitter.event().comment("keep-alive"));
+                sent = true;
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // client went away; the emitter callbacks may not fire for a broken pipe
+            remove(client);
+            client.emitter().completeWithError(ex);
+        } finally {
+            client.finishSending(sent);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package io.smartip.dashboard;
+
+public class DashboardStreamUnavailableException extends RuntimeException {
+
+    public DashboardStreamUnavailableException(String message) {
+        super(message);
+    }
+}
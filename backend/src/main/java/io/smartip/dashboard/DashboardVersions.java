@@ -0,0 +1,79 @@
+package io.smartip.dashboard;
+
+import io.smartip.interventions.InterventionChangeEvent;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-node version counters backing the dashboard ETags. A refresh bumps every scope, an intervention change bumps
+ * the unrestricted view and the technicians involved. ETags also carry a random node id, so two replicas never
+ * produce the same tag for different data, and a 60 second bucket matching the cache TTL, which bounds staleness
+ * for changes that reach the analytics tables without an event on this node (Flink, other replicas).
+ */
+@Component
+public class DashboardVersions {
+
+    private static final long BUCKET_MS = 60_000;
+
+    private final String node = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong refreshVersion = new AtomicLong();
+    private final AtomicLong changeVersion = new AtomicLong();
+    private final Map<Long, AtomicLong> technicianVersions = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    DashboardVersions(ObjectProvider<Clock> clockProvider) {
+        this(clockProvider.getIfAvailable(Clock::systemUTC));
+    }
+
+    DashboardVersions(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void bumpAll() {
+        refreshVersion.incrementAndGet();
+    }
+
+    @EventListener
+    public void onInterventionChange(InterventionChangeEvent event) {
+        changeVersion.incrementAndGet();
+        bumpTechnician(event.technicianId());
+        bumpTechnician(event.previousTechnicianId());
+    }
+
+    /** Weak ETag for the current state of {@code scope}; must be computed before loading the data. */
+    public String etag(DashboardScope scope) {
+        return etag(scope, null);
+    }
+
+    /** Same as {@link #etag(DashboardScope)} for a specific representation (e.g. a binary encoding). */
+    public String etag(DashboardScope scope, String variant) {
+        long bucket = clock.millis() / BUCKET_MS;
+        long version = scope.restricted()
+                ? technicianVersions.computeIfAbsent(scope.technicianId(), id -> new AtomicLong()).get()
+                : changeVersion.get();
+        StringBuilder tag = new StringBuilder("W/\"")
+                .append(node).append('-')
+                .append(refreshVersion.get()).append('.').append(version).append('-')
+                .append(bucket).append('-')
+                .append(scope.role().name().toLowerCase(Locale.ROOT));
+        if (variant != null) {
+            tag.append('-').append(variant);
+        }
+        return tag.append('"').toString();
+    }
+
+    private void bumpTechnician(Long technicianId) {
+        if (technicianId != null) {
+            technicianVersions.computeIfAbsent(technicianId, id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.smartip.dashboard;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+class DashboardWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // appended after Jackson so that JSON stays the default for Accept: */*
+        converters.add(new MapMarkerHttpMessageConverter());
+    }
+}
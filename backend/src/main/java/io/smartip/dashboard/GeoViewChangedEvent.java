@@ -0,0 +1,56 @@
+package io.smartip.dashboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Positions whose rows in {@code analytics.intervention_geo_view} were rewritten, both before and after the change.
+ * Writers send it with {@code pg_notify} on {@link #CHANNEL} inside their transaction, so every node evicts the map
+ * tiles covering them once the rewrite commits.
+ */
+public record GeoViewChangedEvent(List<Position> positions) {
+
+    public static final String CHANNEL = "geo_view_changed";
+
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    /** Splits the positions into {@code lat,lon,technicianId;...} payloads that each fit one notification. */
+    public List<String> toPayloads() {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (Position position : positions) {
+            String entry = position.latitude() + "," + position.longitude() + ","
+                    + (position.technicianId() != null ? position.technicianId() : "");
+            if (!payload.isEmpty() && payload.length() + entry.length() + 1 > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(';');
+            }
+            payload.append(entry);
+        }
+        if (!payload.isEmpty()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    static GeoViewChangedEvent fromPayload(String payload) {
+        List<Position> positions = new ArrayList<>();
+        for (String entry : payload.split(";")) {
+            String[] fields = entry.split(",", -1);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Malformed geo view position '" + entry + "'");
+            }
+            positions.add(new Position(
+                    Double.parseDouble(fields[0]),
+                    Double.parseDouble(fields[1]),
+                    fields[2].isEmpty() ? null : Long.valueOf(fields[2])));
+        }
+        return new GeoViewChangedEvent(List.copyOf(positions));
+    }
+
+    public record Position(double latitude, double longitude, Long technicianId) {}
+}
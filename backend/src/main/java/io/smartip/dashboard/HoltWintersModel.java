@@ -0,0 +1,134 @@
+package io.smartip.dashboard;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Additive Holt-Winters state for a daily series with weekly seasonality. Instances are immutable: {@link #advance}
+ * returns a new state so concurrent readers never observe a half-applied update.
+ */
+final class HoltWintersModel {
+
+    static final int SEASON_LENGTH = 7;
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final double level;
+    private final double trend;
+    private final double[] seasonal;
+    private final LocalDate lastDate;
+    private final long lastObserved;
+
+    private HoltWintersModel(
+            double alpha,
+            double beta,
+            double gamma,
+            double level,
+            double trend,
+            double[] seasonal,
+            LocalDate lastDate,
+            long lastObserved) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.level = level;
+        this.trend = trend;
+        this.seasonal = seasonal;
+        this.lastDate = lastDate;
+        this.lastObserved = lastObserved;
+    }
+
+    /**
+     * Fits the model on the daily totals between {@code from} and {@code to} (inclusive); missing days count as zero.
+     * Level, trend and seasonal indices are initialised from the complete weeks of the window.
+     */
+    static HoltWintersModel fit(
+            Map<LocalDate, Long> totals, LocalDate from, LocalDate to, double alpha, double beta, double gamma) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        long[] series = new long[days];
+        for (int i = 0; i < days; i++) {
+            series[i] = totals.getOrDefault(from.plusDays(i), 0L);
+        }
+
+        int seasons = Math.max(1, days / SEASON_LENGTH);
+        double[] seasonMeans = new double[seasons];
+        for (int s = 0; s < seasons; s++) {
+            double sum = 0;
+            int count = 0;
+            for (int i = s * SEASON_LENGTH; i < Math.min(days, (s + 1) * SEASON_LENGTH); i++) {
+                sum += series[i];
+                count++;
+            }
+            seasonMeans[s] = sum / count;
+        }
+
+        // seasonal slots are indexed by day of week so the state stays aligned whatever the window start is
+        double[] seasonal = new double[SEASON_LENGTH];
+        int[] samples = new int[SEASON_LENGTH];
+        for (int i = 0; i < Math.min(days, seasons * SEASON_LENGTH); i++) {
+            int slot = slot(from.plusDays(i));
+            seasonal[slot] += series[i] - seasonMeans[i / SEASON_LENGTH];
+            samples[slot]++;
+        }
+        for (int slot = 0; slot < SEASON_LENGTH; slot++) {
+            seasonal[slot] = samples[slot] > 0 ? seasonal[slot] / samples[slot] : 0;
+        }
+
+        double trend = seasons > 1 ? (seasonMeans[seasons - 1] - seasonMeans[0]) / ((seasons - 1) * SEASON_LENGTH) : 0;
+        HoltWintersModel initial = new HoltWintersModel(
+                alpha, beta, gamma, seasonMeans[0], trend, seasonal, from.minusDays(1), 0);
+        return initial.advance(series);
+    }
+
+    /** Applies the observations for the days following {@link #lastDate()}, in order. */
+    HoltWintersModel advance(long... observations) {
+        double currentLevel = level;
+        double currentTrend = trend;
+        double[] currentSeasonal = seasonal.clone();
+        LocalDate date = lastDate;
+        long observed = lastObserved;
+        for (long observation : observations) {
+            date = date.plusDays(1);
+            int slot = slot(date);
+            double previousLevel = currentLevel;
+            currentLevel = alpha * (observation - currentSeasonal[slot]) + (1 - alpha) * (currentLevel + currentTrend);
+            currentTrend = beta * (currentLevel - previousLevel) + (1 - beta) * currentTrend;
+            currentSeasonal[slot] = gamma * (observation - currentLevel) + (1 - gamma) * currentSeasonal[slot];
+            observed = observation;
+        }
+        return new HoltWintersModel(alpha, beta, gamma, currentLevel, currentTrend, currentSeasonal, date, observed);
+    }
+
+    /** Point forecast for {@code date}, which must be after {@link #lastDate()}. */
+    double forecast(LocalDate date) {
+        long horizon = date.toEpochDay() - lastDate.toEpochDay();
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Forecast date must be after " + lastDate);
+        }
+        return level + horizon * trend + seasonal[slot(date)];
+    }
+
+    LocalDate lastDate() {
+        return lastDate;
+    }
+
+    long lastObserved() {
+        return lastObserved;
+    }
+
+    double level() {
+        return level;
+    }
+
+    double alpha() {
+        return alpha;
+    }
+
+    private static int slot(LocalDate date) {
+        return date.getDayOfWeek().getValue() - 1;
+    }
+}
@@ -0,0 +1,34 @@
+package io.smartip.dashboard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Keyset position in the map marker listing, ordered by {@code updated_at DESC, intervention_id DESC}. Serialised
+ * as an opaque URL-safe token so clients only echo it back.
+ */
+public record MapCursor(Instant updatedAt, long interventionId) {
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        String raw = micros + ":" + interventionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static MapCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            long interventionId = Long.parseLong(raw.substring(separator + 1));
+            return new MapCursor(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), interventionId);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid map cursor");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.dto.InterventionMapMarker;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar binary encoding of map markers ({@value #MEDIA_TYPE}). Layout, all integers as unsigned LEB128
+ * varints:
+ *
+ * <pre>
+ * magic "SM", version byte, coordinate decimals byte, marker count
+ * status dictionary: size, then (length, UTF-8 bytes) per entry
+ * intervention ids       zigzag delta from previous id
+ * latitudes, longitudes  fixed point at 10^decimals, zigzag delta from previous value
+ * statuses               dictionary index
+ * technician ids         id + 1, 0 for none
+ * planned/updated at     epoch seconds, zigzag delta from previous non-null value + 1, 0 for none
+ * </pre>
+ *
+ * Markers come sorted by recency and clustered geographically, so most deltas fit in one or two bytes.
+ */
+public final class MapMarkerCodec {
+
+    public static final String MEDIA_TYPE = "application/x-sip-markers";
+
+    private static final byte[] MAGIC = {'S', 'M'};
+    private static final int VERSION = 1;
+    private static final int DECIMALS = 6;
+
+    private MapMarkerCodec() {}
+
+    public static byte[] encode(List<InterventionMapMarker> markers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + markers.size() * 16);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        out.write(DECIMALS);
+        writeVarint(out, markers.size());
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (InterventionMapMarker marker : markers) {
+            dictionary.putIfAbsent(marker.status(), dictionary.size());
+        }
+        writeVarint(out, dictionary.size());
+        for (String status : dictionary.keySet()) {
+            byte[] bytes = status.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        long previous = 0;
+        for (InterventionMapMarker marker : markers) {
+            writeVarint(out, zigzag(marker.interventionId() - previous));
+            previous = marker.interventionId();
+        }
+        writeCoordinates(out, markers, true);
+        writeCoordinates(out, markers, false);
+        for (InterventionMapMarker marker : markers) {
+            writeVarint(out, dictionary.get(marker.status()));
+        }
+        for (InterventionMapMarker marker : markers) {
+            writeVarint(out, marker.technicianId() == null ? 0 : marker.technicianId() + 1);
+        }
+        writeInstants(out, markers, true);
+        writeInstants(out, markers, false);
+        return out.toByteArray();
+    }
+
+    public static List<InterventionMapMarker> decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        if (in.get() != MAGIC[0] || in.get() != MAGIC[1] || in.get() != VERSION) {
+            throw new IllegalArgumentException("Not a map marker payload");
+        }
+        double scale = Math.pow(10, in.get());
+        int count = (int) readVarint(in);
+
+        String[] dictionary = new String[(int) readVarint(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] bytes = new byte[(int) readVarint(in)];
+            in.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        long[] ids = readDeltas(in, count);
+        long[] latitudes = readDeltas(in, count);
+        long[] longitudes = readDeltas(in, count);
+        int[] statuses = new int[count];
+        for (int i = 0; i < count; i++) {
+            statuses[i] = (int) readVarint(in);
+        }
+        long[] technicians = new long[count];
+        for (int i = 0; i < count; i++) {
+            technicians[i] = readVarint(in);
+        }
+        Instant[] plannedAt = readInstants(in, count);
+        Instant[] updatedAt = readInstants(in, count);
+
+        List<InterventionMapMarker> markers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            markers.add(new InterventionMapMarker(
+                    ids[i],
+                    latitudes[i] / scale,
+                    longitudes[i] / scale,
+                    dictionary[statuses[i]],
+                    technicians[i] == 0 ? null : technicians[i] - 1,
+                    plannedAt[i],
+                    updatedAt[i]));
+        }
+        return markers;
+    }
+
+    private static void writeCoordinates(ByteArrayOutputStream out, List<InterventionMapMarker> markers, boolean latitude) {
+        double scale = Math.pow(10, DECIMALS);
+        long previous = 0;
+        for (InterventionMapMarker marker : markers) {
+            long value = Math.round((latitude ? marker.latitude() : marker.longitude()) * scale);
+            writeVarint(out, zigzag(value - previous));
+            previous = value;
+        }
+    }
+
+    private static void writeInstants(ByteArrayOutputStream out, List<InterventionMapMarker> markers, boolean planned) {
+        long previous = 0;
+        for (InterventionMapMarker marker : markers) {
+            Instant instant = planned ? marker.plannedAt() : marker.updatedAt();
+            if (instant == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            long seconds = instant.getEpochSecond();
+            writeVarint(out, zigzag(seconds - previous) + 1);
+            previous = seconds;
+        }
+    }
+
+    private static long[] readDeltas(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unzigzag(readVarint(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static Instant[] readInstants(ByteBuffer in, int count) {
+        Instant[] values = new Instant[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long raw = readVarint(in);
+            if (raw != 0) {
+                previous += unzigzag(raw - 1);
+                values[i] = Instant.ofEpochSecond(previous);
+            }
+        }
+        return values;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
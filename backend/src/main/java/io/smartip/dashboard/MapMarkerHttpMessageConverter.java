@@ -0,0 +1,60 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.dto.InterventionMapMarker;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/** Writes {@code List<InterventionMapMarker>} bodies with {@link MapMarkerCodec} when the client accepts it. */
+class MapMarkerHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<InterventionMapMarker>> {
+
+    MapMarkerHttpMessageConverter() {
+        super(MediaType.parseMediaType(MapMarkerCodec.MEDIA_TYPE));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isMarkerList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(List<InterventionMapMarker> markers, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        byte[] payload = MapMarkerCodec.encode(markers);
+        outputMessage.getHeaders().setContentLength(payload.length);
+        outputMessage.getBody().write(payload);
+    }
+
+    @Override
+    protected List<InterventionMapMarker> readInternal(Class<? extends List<InterventionMapMarker>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Map marker payloads are write-only", inputMessage);
+    }
+
+    @Override
+    public List<InterventionMapMarker> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Map marker payloads are write-only", inputMessage);
+    }
+
+    private static boolean isMarkerList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == InterventionMapMarker.class;
+    }
+}
@@ -0,0 +1,9 @@
+package io.smartip.dashboard;
+
+import java.util.List;
+
+/**
+ * Viewport/keyset variant of the map marker listing. Every component except {@code limit} is optional;
+ * {@code zoom} lowers coordinate precision to what the map can display at that level.
+ */
+public record MapMarkerQuery(List<String> statuses, MapViewport viewport, MapCursor cursor, Integer zoom, int limit) {}
@@ -0,0 +1,95 @@
+package io.smartip.dashboard;
+
+import io.smartip.dashboard.MapTiles.Bounds;
+import io.smartip.dashboard.MapTiles.TileKey;
+import io.smartip.dashboard.dto.MapClusterResponse;
+import io.smartip.dashboard.dto.MapTileResponse;
+import io.smartip.domain.UserRole;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serves clustered map tiles built from {@code analytics.intervention_geo_view}. Tiles are cached per zoom/x/y and
+ * technician scope. Once a rewrite of geo view rows commits, every node evicts only the tiles covering their previous
+ * and current positions (see {@link AnalyticsRefreshListener}); full analytics refreshes evict every tile.
+ */
+@Service
+public class MapTileService {
+
+    static final String CACHE_NAME = "dashboard-map-tiles";
+
+    private final DashboardRepository repository;
+    private final Cache tiles;
+
+    public MapTileService(DashboardRepository repository, CacheManager cacheManager) {
+        this.repository = repository;
+        this.tiles = cacheManager.getCache(CACHE_NAME);
+    }
+
+    @Transactional(readOnly = true)
+    public MapTileResponse getTile(int zoom, int x, int y, DashboardScope scope) {
+        if (!MapTiles.isValid(zoom, x, y)) {
+            throw new IllegalArgumentException("Tile " + zoom + "/" + x + "/" + y + " does not exist");
+        }
+        TileKey key = new TileKey(zoom, x, y, scope.technicianId());
+        MapTileResponse tile = tiles.get(key, () -> loadTile(key));
+        if (scope.role() == UserRole.ADMIN || scope.role() == UserRole.TECH) {
+            return tile;
+        }
+        return roundCoordinates(tile);
+    }
+
+    void evict(GeoViewChangedEvent event) {
+        for (GeoViewChangedEvent.Position position : event.positions()) {
+            Set<Long> scopes = new LinkedHashSet<>();
+            scopes.add(null);
+            scopes.add(position.technicianId());
+            evictCovering(position.latitude(), position.longitude(), scopes);
+        }
+    }
+
+    private void evictCovering(double latitude, double longitude, Set<Long> scopes) {
+        for (int zoom = 0; zoom <= MapTiles.MAX_ZOOM; zoom++) {
+            int x = MapTiles.tileX(longitude, zoom);
+            int y = MapTiles.tileY(latitude, zoom);
+            for (Long technicianId : scopes) {
+                tiles.evict(new TileKey(zoom, x, y, technicianId));
+            }
+        }
+    }
+
+    private MapTileResponse loadTile(TileKey key) {
+        Bounds bounds = MapTiles.bounds(key.zoom(), key.x(), key.y());
+        List<MapClusterResponse> clusters = repository.fetchMapClusters(
+                bounds,
+                MapTiles.cellScale(key.zoom()),
+                key.x() * MapTiles.CELLS_PER_AXIS,
+                key.y() * MapTiles.CELLS_PER_AXIS,
+                key.technicianId());
+        long total = clusters.stream().mapToLong(MapClusterResponse::count).sum();
+        return new MapTileResponse(key.zoom(), key.x(), key.y(), total, List.copyOf(clusters));
+    }
+
+    private MapTileResponse roundCoordinates(MapTileResponse tile) {
+        List<MapClusterResponse> clusters = new ArrayList<>(tile.clusters().size());
+        for (MapClusterResponse cluster : tile.clusters()) {
+            clusters.add(new MapClusterResponse(
+                    round(cluster.latitude()),
+                    round(cluster.longitude()),
+                    cluster.count(),
+                    cluster.statusCounts(),
+                    cluster.interventionId()));
+        }
+        return new MapTileResponse(tile.zoom(), tile.x(), tile.y(), tile.total(), clusters);
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
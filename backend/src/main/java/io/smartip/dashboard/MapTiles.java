@@ -0,0 +1,55 @@
+package io.smartip.dashboard;
+
+/**
+ * Web Mercator (slippy map) tile arithmetic. Each tile is split into a {@value #CELLS_PER_AXIS}x{@value
+ * #CELLS_PER_AXIS} grid, markers of the same cell are merged into one cluster.
+ */
+final class MapTiles {
+
+    static final int MAX_ZOOM = 20;
+    static final int CELLS_PER_AXIS = 8;
+    static final double MAX_LATITUDE = 85.0511287798;
+
+    private MapTiles() {}
+
+    static boolean isValid(int zoom, int x, int y) {
+        long tiles = 1L << zoom;
+        return zoom >= 0 && zoom <= MAX_ZOOM && x >= 0 && x < tiles && y >= 0 && y < tiles;
+    }
+
+    static Bounds bounds(int zoom, int x, int y) {
+        double tiles = 1L << zoom;
+        return new Bounds(
+                latitude(y + 1, tiles),
+                x / tiles * 360.0 - 180.0,
+                latitude(y, tiles),
+                (x + 1) / tiles * 360.0 - 180.0);
+    }
+
+    static int tileX(double longitude, int zoom) {
+        long tiles = 1L << zoom;
+        long x = (long) Math.floor((longitude + 180.0) / 360.0 * tiles);
+        return (int) Math.clamp(x, 0, tiles - 1);
+    }
+
+    static int tileY(double latitude, int zoom) {
+        long tiles = 1L << zoom;
+        double radians = Math.toRadians(Math.clamp(latitude, -MAX_LATITUDE, MAX_LATITUDE));
+        double mercator = (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+        return (int) Math.clamp((long) Math.floor(mercator * tiles), 0, tiles - 1);
+    }
+
+    /** Number of grid cells across the whole world at the given zoom level. */
+    static double cellScale(int zoom) {
+        return (double) (1L << zoom) * CELLS_PER_AXIS;
+    }
+
+    private static double latitude(double y, double tiles) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y / tiles))));
+    }
+
+    record Bounds(double south, double west, double north, double east) {}
+
+    /** Cache key of a tile; {@code technicianId} is {@code null} for the unrestricted (admin/dispatcher) view. */
+    record TileKey(int zoom, int x, int y, Long technicianId) {}
+}
@@ -0,0 +1,25 @@
+package io.smartip.dashboard;
+
+/** Geographic bounding box of the visible map area, in WGS84 degrees. */
+public record MapViewport(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    public MapViewport {
+        if (minLatitude < -90 || maxLatitude > 90 || minLongitude < -180 || maxLongitude > 180) {
+            throw new IllegalArgumentException("Viewport must lie within [-90, 90] x [-180, 180]");
+        }
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("Viewport minimum must not exceed its maximum");
+        }
+    }
+
+    /** Returns {@code null} when no bound is given; all four bounds are required otherwise. */
+    static MapViewport of(Double minLatitude, Double minLongitude, Double maxLatitude, Double maxLongitude) {
+        if (minLatitude == null && minLongitude == null && maxLatitude == null && maxLongitude == null) {
+            return null;
+        }
+        if (minLatitude == null || minLongitude == null || maxLatitude == null || maxLongitude == null) {
+            throw new IllegalArgumentException("Parameters 'minLat', 'minLon', 'maxLat' and 'maxLon' go together");
+        }
+        return new MapViewport(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+}
@@ -0,0 +1,103 @@
+package io.smartip.dashboard;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Maintains the weekly and monthly rollups of the daily metric tables. Callers pass the days they just rewrote and
+ * only the weeks and months containing them are recomputed, for all interventions and for every technician.
+ */
+@Repository
+public class StatusTrendRollups {
+
+    private static final String DELETE_TEMPLATE = "DELETE FROM analytics.%s WHERE %s = ANY (?)";
+
+    private static final String INSERT_TEMPLATE = """
+            INSERT INTO analytics.%1$s (technician_id, %2$s, status, total_count, last_refreshed_at)
+            WITH periods AS (
+                SELECT unnest(?::date[]) AS period_start
+            )
+            SELECT 0, p.period_start, d.status, SUM(d.total_count), ?
+            FROM periods p
+            JOIN analytics.intervention_daily_metrics d
+              ON d.metric_date >= p.period_start
+             AND d.metric_date < (p.period_start + INTERVAL '1 %3$s')::date
+            GROUP BY p.period_start, d.status
+            UNION ALL
+            SELECT d.technician_id, p.period_start, d.status, SUM(d.total_count), ?
+            FROM periods p
+            JOIN analytics.intervention_daily_technician_metrics d
+              ON d.metric_date >= p.period_start
+             AND d.metric_date < (p.period_start + INTERVAL '1 %3$s')::date
+            GROUP BY d.technician_id, p.period_start, d.status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    StatusTrendRollups(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recomputes the periods covering {@code days} from the daily rows. Call it once those days are rewritten: in the
+     * same transaction, or in a later one after every transaction that rewrote them has committed.
+     */
+    public void rollup(Collection<LocalDate> days, Instant refreshedAt) {
+        if (days.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(refreshedAt);
+        rollup(TrendGranularity.WEEK, days, timestamp);
+        rollup(TrendGranularity.MONTH, days, timestamp);
+    }
+
+    public void rollup(LocalDate from, LocalDate to, Instant refreshedAt) {
+        rollup(from.datesUntil(to.plusDays(1)).toList(), refreshedAt);
+    }
+
+    private void rollup(TrendGranularity granularity, Collection<LocalDate> days, Timestamp refreshedAt) {
+        Set<LocalDate> periods = new TreeSet<>();
+        for (LocalDate day : days) {
+            periods.add(granularity.periodStart(day));
+        }
+        String[] periodStarts = periods.stream().map(LocalDate::toString).toArray(String[]::new);
+        String table = table(granularity);
+        String column = periodColumn(granularity);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DELETE_TEMPLATE.formatted(table, column));
+            statement.setArray(1, connection.createArrayOf("date", periodStarts));
+            return statement;
+        });
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    INSERT_TEMPLATE.formatted(table, column, granularity.parameterValue()));
+            statement.setArray(1, connection.createArrayOf("date", periodStarts));
+            statement.setTimestamp(2, refreshedAt);
+            statement.setTimestamp(3, refreshedAt);
+            return statement;
+        });
+    }
+
+    static String table(TrendGranularity granularity) {
+        return switch (granularity) {
+            case WEEK -> "intervention_weekly_metrics";
+            case MONTH -> "intervention_monthly_metrics";
+            case DAY -> throw new IllegalArgumentException("Daily metrics are not a rollup");
+        };
+    }
+
+    static String periodColumn(TrendGranularity granularity) {
+        return switch (granularity) {
+            case WEEK -> "week_start";
+            case MONTH -> "month_start";
+            case DAY -> throw new IllegalArgumentException("Daily metrics are not a rollup");
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package io.smartip.dashboard;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Bucket size of {@code /status-trends}. Weekly and monthly buckets are served from the rollup tables and are
+ * labelled by the first day of the period (ISO week starting on Monday, calendar month).
+ */
+public enum TrendGranularity {
+    DAY(ChronoUnit.DAYS, 92),
+    WEEK(ChronoUnit.WEEKS, 104),
+    MONTH(ChronoUnit.MONTHS, 120);
+
+    private final ChronoUnit unit;
+    private final int maxBuckets;
+
+    TrendGranularity(ChronoUnit unit, int maxBuckets) {
+        this.unit = unit;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /** Parses the request parameter; {@code null}, blank or {@code auto} picks the finest tier that fits the range. */
+    public static TrendGranularity resolve(String parameter, LocalDate from, LocalDate to) {
+        if (parameter == null || parameter.isBlank() || parameter.equalsIgnoreCase("auto")) {
+            for (TrendGranularity candidate : values()) {
+                if (candidate.buckets(from, to) <= candidate.maxBuckets) {
+                    return candidate;
+                }
+            }
+            throw new IllegalArgumentException("Requested range is too long");
+        }
+        TrendGranularity granularity;
+        try {
+            granularity = valueOf(parameter.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown granularity '" + parameter + "'");
+        }
+        if (granularity.buckets(from, to) > granularity.maxBuckets) {
+            throw new IllegalArgumentException(
+                    "Range too long for granularity " + granularity.parameterValue() + ", use a coarser one");
+        }
+        return granularity;
+    }
+
+    /** First day of the bucket containing {@code date}. */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public String parameterValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    long buckets(LocalDate from, LocalDate to) {
+        return unit.between(periodStart(from), periodStart(to)) + 1;
+    }
+}
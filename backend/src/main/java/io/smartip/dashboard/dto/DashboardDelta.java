@@ -0,0 +1,14 @@
+package io.smartip.dashboard.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes accumulated for one stream subscriber since its previous event. Counter maps hold signed deltas:
+ * {@code summary} per status for today's totals, {@code technicianOpenCounts} per technician id.
+ */
+public record DashboardDelta(
+        Map<String, Long> summary,
+        Map<Long, Long> technicianOpenCounts,
+        List<InterventionMapMarker> markerUpserts,
+        List<Long> markerRemovals) {}
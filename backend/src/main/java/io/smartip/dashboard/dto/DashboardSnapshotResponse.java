@@ -0,0 +1,14 @@
+package io.smartip.dashboard.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/** All dashboard sections in one document; {@code timingsMs} holds the load time of each section. */
+public record DashboardSnapshotResponse(
+        DashboardSummaryResponse summary,
+        List<StatusTrendPoint> statusTrends,
+        List<TechnicianLoadResponse> technicianLoad,
+        AiInsightResponse insights,
+        ForecastResponse forecast,
+        List<InterventionMapMarker> map,
+        Map<String, Long> timingsMs) {}
@@ -8,5 +8,5 @@ public record ForecastResponse(
         String method,
         double smoothingFactor,
         long lastObservedCount,
-        double baselineAverage,
+        double baselineLevel,
         List<ForecastPointResponse> points) {}
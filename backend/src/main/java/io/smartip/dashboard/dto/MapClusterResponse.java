@@ -0,0 +1,10 @@
+package io.smartip.dashboard.dto;
+
+import java.util.Map;
+
+/**
+ * Markers of one grid cell of a map tile. {@code interventionId} is only set for single-marker clusters so the
+ * client can render them as regular markers.
+ */
+public record MapClusterResponse(
+        double latitude, double longitude, long count, Map<String, Long> statusCounts, Long interventionId) {}
@@ -0,0 +1,5 @@
+package io.smartip.dashboard.dto;
+
+import java.util.List;
+
+public record MapMarkerPage(List<InterventionMapMarker> markers, String nextCursor) {}
@@ -0,0 +1,5 @@
+package io.smartip.dashboard.dto;
+
+import java.util.List;
+
+public record MapTileResponse(int zoom, int x, int y, long total, List<MapClusterResponse> clusters) {}
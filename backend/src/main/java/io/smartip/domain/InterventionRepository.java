@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 public interface InterventionRepository
         extends JpaRepository<InterventionEntity, Long>, JpaSpecificationExecutor<InterventionEntity> {
@@ -16,11 +17,20 @@ public interface InterventionRepository
 
     List<InterventionEntity> findAllByTechnician_Id(Long technicianId);
 
+    Optional<InterventionEntity> findByIdAndTechnician_Id(Long id, Long technicianId);
+
     List<InterventionEntity> findAllByPlannedAtBetween(Instant from, Instant to);
 
     long countByTechnician_IdAndStatusIn(Long technicianId, Collection<InterventionStatus> statuses);
 
     java.util.Optional<InterventionEntity> findFirstByTechnician_IdAndLatitudeIsNotNullAndLongitudeIsNotNullOrderByUpdatedAtDesc(Long technicianId);
 
+    @Query("""
+            SELECT i.updatedAt AS updatedAt, i.technician.id AS technicianId
+            FROM InterventionEntity i
+            WHERE i.id = :id
+            """)
+    Optional<InterventionVersion> findVersionById(Long id);
+
     List<InterventionEntity> findTop20ByTechnician_IdAndStatusInOrderByUpdatedAtDesc(Long technicianId, Collection<InterventionStatus> statuses);
 }
@@ -0,0 +1,11 @@
+package io.smartip.domain;
+
+import java.time.Instant;
+
+/** Validator fields of an intervention, loaded without the entity graph for conditional GETs. */
+public interface InterventionVersion {
+
+    Instant getUpdatedAt();
+
+    Long getTechnicianId();
+}
@@ -35,6 +35,9 @@ public class UserEntity {
     @Column(name = "password_hash", nullable = false, length = 100)
     private String passwordHash;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @PrePersist
     void onCreate() {
         if (createdAt == null) {
@@ -89,4 +92,12 @@ public class UserEntity {
     public void setPasswordHash(String passwordHash) {
         this.passwordHash = passwordHash;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
@@ -0,0 +1,97 @@
+package io.smartip.interventions;
+
+import io.smartip.domain.InterventionEntity;
+import io.smartip.domain.InterventionStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record InterventionChangeEvent(
+        Type type,
+        long interventionId,
+        InterventionStatus status,
+        InterventionStatus previousStatus,
+        Long technicianId,
+        Long previousTechnicianId,
+        Instant plannedAt,
+        Instant previousPlannedAt,
+        Double latitude,
+        Double longitude,
+        Double previousLatitude,
+        Double previousLongitude,
+        Instant occurredAt) {
+
+    public static final String AGGREGATE_TYPE = "intervention";
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    static InterventionChangeEvent created(InterventionEntity entity) {
+        return of(Type.CREATED, null, entity);
+    }
+
+    static InterventionChangeEvent changed(Type type, Snapshot before, InterventionEntity entity) {
+        return of(type, before, entity);
+    }
+
+    static InterventionChangeEvent deleted(Snapshot before) {
+        return new InterventionChangeEvent(
+                Type.DELETED,
+                before.id(),
+                null,
+                before.status(),
+                null,
+                before.technicianId(),
+                null,
+                before.plannedAt(),
+                null,
+                null,
+                before.latitude(),
+                before.longitude(),
+                Instant.now());
+    }
+
+    private static InterventionChangeEvent of(Type type, Snapshot before, InterventionEntity entity) {
+        Instant occurredAt = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : Instant.now();
+        return new InterventionChangeEvent(
+                type,
+                entity.getId(),
+                entity.getStatus(),
+                before != null ? before.status() : null,
+                entity.getTechnician() != null ? entity.getTechnician().getId() : null,
+                before != null ? before.technicianId() : null,
+                entity.getPlannedAt(),
+                before != null ? before.plannedAt() : null,
+                toDouble(entity.getLatitude()),
+                toDouble(entity.getLongitude()),
+                before != null ? before.latitude() : null,
+                before != null ? before.longitude() : null,
+                occurredAt);
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    record Snapshot(
+            long id,
+            InterventionStatus status,
+            Long technicianId,
+            Instant plannedAt,
+            Double latitude,
+            Double longitude) {
+
+        static Snapshot of(InterventionEntity entity) {
+            return new Snapshot(
+                    entity.getId(),
+                    entity.getStatus(),
+                    entity.getTechnician() != null ? entity.getTechnician().getId() : null,
+                    entity.getPlannedAt(),
+                    toDouble(entity.getLatitude()),
+                    toDouble(entity.getLongitude()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.smartip.interventions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smartip.outbox.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns relayed outbox rows back into typed {@link InterventionChangeEvent}s for in-process listeners.
+ */
+@Component
+class InterventionChangeEventDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InterventionChangeEventDispatcher.class);
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    InterventionChangeEventDispatcher(ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener
+    void onOutboxEvent(OutboxEvent event) {
+        if (!InterventionChangeEvent.AGGREGATE_TYPE.equals(event.aggregateType())) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(event.payload(), InterventionChangeEvent.class));
+        } catch (JsonProcessingException ex) {
+            LOGGER.warn("Skipping malformed intervention outbox event {}: {}", event.id(), ex.getMessage());
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package io.smartip.interventions;
 
 import io.smartip.domain.InterventionAssignmentMode;
-import io.smartip.domain.InterventionEntity;
 import io.smartip.domain.InterventionStatus;
-import io.smartip.domain.UserRole;
+import io.smartip.domain.InterventionVersion;
 import io.smartip.interventions.dto.CreateInterventionRequest;
 import io.smartip.interventions.dto.InterventionPageResponse;
 import io.smartip.interventions.dto.InterventionResponse;
@@ -11,16 +10,16 @@ import io.smartip.interventions.dto.UpdateInterventionRequest;
 import io.smartip.interventions.dto.UpdateInterventionStatusRequest;
 import io.smartip.interventions.dto.SmartAssignmentRequest;
 import io.smartip.interventions.dto.SmartAssignmentResponse;
+import io.smartip.security.AuthenticatedUser;
+import io.smartip.security.CurrentUser;
 import jakarta.validation.Valid;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -31,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/interventions")
@@ -53,29 +53,29 @@ public class InterventionController {
             @RequestParam(value = "technicianId", required = false) Long technicianId,
             @RequestParam(value = "plannedFrom", required = false) Instant plannedFrom,
             @RequestParam(value = "plannedTo", required = false) Instant plannedTo,
-            Authentication authentication) {
+            @CurrentUser AuthenticatedUser user) {
         String sanitizedQuery = query != null ? query.trim() : null;
         var filters = new InterventionService.InterventionFilters(
                 sanitizedQuery, status, assignmentMode, technicianId, plannedFrom, plannedTo);
-        UserRole role = resolveRole(authentication);
         Page<InterventionResponse> page = interventionService
-                .findAll(filters, pageable, authentication.getName(), role)
+                .findAll(filters, pageable, user.id(), user.role())
                 .map(InterventionResponse::fromEntity);
         return InterventionPageResponse.fromPage(page);
     }
 
     @GetMapping("/{id}")
-    public InterventionResponse get(@PathVariable Long id, Authentication authentication) {
-        UserRole role = resolveRole(authentication);
-        var intervention = interventionService.getIntervention(id);
-        if (role == UserRole.TECH) {
-            if (intervention.getTechnician() == null
-                    || !intervention.getTechnician()
-                            .getEmail()
-                            .equalsIgnoreCase(authentication.getName())) {
-                throw new InterventionAccessDeniedException(id);
-            }
+    public InterventionResponse get(
+            @PathVariable Long id, @CurrentUser AuthenticatedUser user, WebRequest request) {
+        // validators come from a projection query so that a 304 never loads the entity graph
+        InterventionVersion version = interventionService.findVersion(id).orElse(null);
+        if (version != null && version.getUpdatedAt() != null
+                && (!user.isTechnician() || user.id().equals(version.getTechnicianId()))
+                && request.checkNotModified(etag(id, version.getUpdatedAt()), version.getUpdatedAt().toEpochMilli())) {
+            return null;
         }
+        var intervention = user.isTechnician()
+                ? interventionService.getAssignedIntervention(id, user.id())
+                : interventionService.getIntervention(id);
         return InterventionResponse.fromEntity(intervention);
     }
 
@@ -94,14 +94,13 @@ public class InterventionController {
     public InterventionResponse updateStatus(
             @PathVariable Long id,
             @Valid @RequestBody UpdateInterventionStatusRequest request,
-            Authentication authentication) {
-        UserRole role = resolveRole(authentication);
-        if (role == UserRole.TECH) {
-            var intervention = interventionService.getIntervention(id);
-            validateTechnicianAccess(authentication.getName(), intervention, id);
+            @CurrentUser AuthenticatedUser user) {
+        if (user.isTechnician()) {
             if (request.status() == InterventionStatus.VALIDATED) {
                 throw new InterventionAccessDeniedException(id);
             }
+            return InterventionResponse.fromEntity(
+                    interventionService.updateAssignedStatus(id, user.id(), request.status()));
         }
         return InterventionResponse.fromEntity(interventionService.updateStatus(id, request.status()));
     }
@@ -113,29 +112,11 @@ public class InterventionController {
     }
 
     @PostMapping("/recommendation")
-    @PreAuthorize("hasAnyRole('ADMIN','DISPATCHER')")
     public SmartAssignmentResponse recommendTechnician(@Valid @RequestBody SmartAssignmentRequest request) {
         return smartAssignmentService.recommendTechnician(request);
     }
 
-    private UserRole resolveRole(Authentication authentication) {
-        if (authentication == null) {
-            throw new IllegalArgumentException("Authentication required");
-        }
-        return authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(auth -> auth.startsWith("ROLE_"))
-                .map(auth -> auth.substring(5))
-                .map(role -> role.toUpperCase(java.util.Locale.ROOT))
-                .map(UserRole::valueOf)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unknown role for user"));
-    }
-
-    private void validateTechnicianAccess(String email, InterventionEntity intervention, Long id) {
-        if (intervention.getTechnician() == null
-                || !intervention.getTechnician().getEmail().equalsIgnoreCase(email)) {
-            throw new InterventionAccessDeniedException(id);
-        }
+    private String etag(Long id, Instant updatedAt) {
+        return "\"" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt) + "\"";
     }
 }
@@ -7,6 +7,8 @@ import io.smartip.domain.InterventionStatus;
 import io.smartip.domain.UserEntity;
 import io.smartip.domain.UserRepository;
 import io.smartip.domain.UserRole;
+import io.smartip.outbox.OutboxService;
+import io.smartip.scheduling.ClusterSingleton;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
@@ -92,6 +94,7 @@ public class InterventionDemoSimulator {
     private final InterventionRepository interventionRepository;
     private final JdbcTemplate jdbcTemplate;
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
     private final Clock clock;
     private final Random random;
     private final int maxRows;
@@ -103,6 +106,7 @@ public class InterventionDemoSimulator {
             InterventionRepository interventionRepository,
             UserRepository userRepository,
             JdbcTemplate jdbcTemplate,
+            OutboxService outboxService,
             ObjectProvider<Clock> clockProvider,
             @Value("${DEMO_MAX_ROWS:100}") int maxRows,
             @Value("${DEMO_BATCH_DELETE:10}") int batchSize) {
@@ -110,6 +114,7 @@ public class InterventionDemoSimulator {
                 interventionRepository,
                 userRepository,
                 jdbcTemplate,
+                outboxService,
                 clockProvider.getIfAvailable(Clock::systemUTC),
                 new Random(),
                 maxRows,
@@ -120,6 +125,7 @@ public class InterventionDemoSimulator {
             InterventionRepository interventionRepository,
             UserRepository userRepository,
             JdbcTemplate jdbcTemplate,
+            OutboxService outboxService,
             Clock clock,
             Random random,
             int maxRows,
@@ -127,6 +133,7 @@ public class InterventionDemoSimulator {
         this.interventionRepository = Objects.requireNonNull(interventionRepository, "interventionRepository");
         this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "jdbcTemplate");
         this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
+        this.outboxService = Objects.requireNonNull(outboxService, "outboxService");
         this.clock = clock != null ? clock : Clock.systemUTC();
         this.random = random != null ? random : new Random();
         this.maxRows = Math.max(1, maxRows);
@@ -134,6 +141,7 @@ public class InterventionDemoSimulator {
     }
 
     @Scheduled(cron = "0 */10 * * * *")
+    @ClusterSingleton(value = "demo-simulator", minInterval = "5m")
     @Transactional
     public void runSimulation() {
         ensureCreatedAtIndex();
@@ -162,6 +170,11 @@ public class InterventionDemoSimulator {
         }
 
         List<InterventionEntity> saved = interventionRepository.saveAll(generated);
+        for (InterventionEntity entity : saved) {
+            InterventionChangeEvent event = InterventionChangeEvent.created(entity);
+            outboxService.append(
+                    InterventionChangeEvent.AGGREGATE_TYPE, event.interventionId(), event.type().name(), event);
+        }
 
         long purged = purgeExcessRows();
 
@@ -4,9 +4,12 @@ import io.smartip.domain.InterventionAssignmentMode;
 import io.smartip.domain.InterventionEntity;
 import io.smartip.domain.InterventionRepository;
 import io.smartip.domain.InterventionStatus;
+import io.smartip.domain.InterventionVersion;
 import io.smartip.domain.UserEntity;
 import io.smartip.domain.UserRepository;
 import io.smartip.domain.UserRole;
+import io.smartip.interventions.InterventionChangeEvent.Snapshot;
+import io.smartip.outbox.OutboxService;
 import jakarta.persistence.criteria.JoinType;
 import java.time.Instant;
 import java.util.Comparator;
@@ -27,22 +30,21 @@ public class InterventionService {
 
     private final InterventionRepository interventionRepository;
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
 
-    public InterventionService(InterventionRepository interventionRepository, UserRepository userRepository) {
+    public InterventionService(
+            InterventionRepository interventionRepository, UserRepository userRepository, OutboxService outboxService) {
         this.interventionRepository = interventionRepository;
         this.userRepository = userRepository;
+        this.outboxService = outboxService;
     }
 
     @Transactional(readOnly = true)
     public Page<InterventionEntity> findAll(
-            InterventionFilters filters, Pageable pageable, String requesterEmail, UserRole requesterRole) {
+            InterventionFilters filters, Pageable pageable, Long requesterId, UserRole requesterRole) {
         InterventionFilters effectiveFilters = filters;
         if (requesterRole == UserRole.TECH) {
-            Long technicianId = userRepository
-                    .findByEmailIgnoreCase(requesterEmail)
-                    .map(UserEntity::getId)
-                    .orElseThrow(() -> new IllegalArgumentException("Unknown technician " + requesterEmail));
-            effectiveFilters = filters.withTechnicianId(technicianId);
+            effectiveFilters = filters.withTechnicianId(requesterId);
         }
         return findAllInternal(effectiveFilters, pageable);
     }
@@ -85,12 +87,23 @@ public class InterventionService {
         return page;
     }
 
+    @Transactional(readOnly = true)
+    public Optional<InterventionVersion> findVersion(Long id) {
+        return interventionRepository.findVersionById(id);
+    }
+
     @Transactional(readOnly = true)
     public InterventionEntity getIntervention(Long id) {
         return initializeTechnician(
                 interventionRepository.findById(id).orElseThrow(() -> new InterventionNotFoundException(id)));
     }
 
+    /** Loads an intervention only if it is assigned to {@code technicianId}; ownership is part of the query. */
+    @Transactional(readOnly = true)
+    public InterventionEntity getAssignedIntervention(Long id, Long technicianId) {
+        return initializeTechnician(findAssigned(id, technicianId));
+    }
+
     @Transactional
     public InterventionEntity createIntervention(CreateInterventionCommand command) {
         String reference = command.reference().trim();
@@ -108,7 +121,9 @@ public class InterventionService {
         entity.setLatitude(normalizeCoordinate(command.latitude()));
         entity.setLongitude(normalizeCoordinate(command.longitude()));
         applyAssignment(entity, command.assignmentMode(), command.technicianId(), command.plannedAt());
-        return initializeTechnician(interventionRepository.save(entity));
+        InterventionEntity saved = initializeTechnician(interventionRepository.save(entity));
+        publishChange(InterventionChangeEvent.created(saved));
+        return saved;
     }
 
     @Transactional
@@ -116,6 +131,7 @@ public class InterventionService {
         InterventionEntity entity = interventionRepository
                 .findById(id)
                 .orElseThrow(() -> new InterventionNotFoundException(id));
+        Snapshot before = Snapshot.of(entity);
 
         entity.setTitle(command.title().trim());
         entity.setDescription(normalizeDescription(command.description()));
@@ -124,14 +140,33 @@ public class InterventionService {
         entity.setLatitude(normalizeCoordinate(command.latitude()));
         entity.setLongitude(normalizeCoordinate(command.longitude()));
         applyAssignment(entity, command.assignmentMode(), command.technicianId(), command.plannedAt());
-        return initializeTechnician(interventionRepository.save(entity));
+        InterventionEntity saved = initializeTechnician(interventionRepository.saveAndFlush(entity));
+        publishChange(InterventionChangeEvent.changed(InterventionChangeEvent.Type.UPDATED, before, saved));
+        return saved;
     }
 
     @Transactional
     public InterventionEntity updateStatus(Long id, InterventionStatus nextStatus) {
-        InterventionEntity entity = interventionRepository
-                .findById(id)
-                .orElseThrow(() -> new InterventionNotFoundException(id));
+        return applyStatus(
+                interventionRepository.findById(id).orElseThrow(() -> new InterventionNotFoundException(id)),
+                nextStatus);
+    }
+
+    @Transactional
+    public InterventionEntity updateAssignedStatus(Long id, Long technicianId, InterventionStatus nextStatus) {
+        return applyStatus(findAssigned(id, technicianId), nextStatus);
+    }
+
+    private InterventionEntity findAssigned(Long id, Long technicianId) {
+        return interventionRepository.findByIdAndTechnician_Id(id, technicianId).orElseThrow(() ->
+                // only a miss pays for telling an unknown intervention from someone else's
+                interventionRepository.existsById(id)
+                        ? new InterventionAccessDeniedException(id)
+                        : new InterventionNotFoundException(id));
+    }
+
+    private InterventionEntity applyStatus(InterventionEntity entity, InterventionStatus nextStatus) {
+        Long id = entity.getId();
         initializeTechnician(entity);
 
         InterventionStatus current = entity.getStatus();
@@ -147,6 +182,7 @@ public class InterventionService {
             throw new TechnicianAssignmentRequiredException(id);
         }
 
+        Snapshot before = Snapshot.of(entity);
         entity.setStatus(nextStatus);
         Instant now = Instant.now();
         switch (nextStatus) {
@@ -169,7 +205,14 @@ public class InterventionService {
                 // no-op
             }
         }
-        return initializeTechnician(interventionRepository.save(entity));
+        InterventionEntity saved = initializeTechnician(interventionRepository.saveAndFlush(entity));
+        publishChange(InterventionChangeEvent.changed(InterventionChangeEvent.Type.STATUS_CHANGED, before, saved));
+        return saved;
+    }
+
+    private void publishChange(InterventionChangeEvent event) {
+        outboxService.append(
+                InterventionChangeEvent.AGGREGATE_TYPE, event.interventionId(), event.type().name(), event);
     }
 
     private void applyAssignment(
@@ -249,7 +292,10 @@ public class InterventionService {
         InterventionEntity entity = interventionRepository
                 .findById(id)
                 .orElseThrow(() -> new InterventionNotFoundException(id));
+        initializeTechnician(entity);
+        Snapshot before = Snapshot.of(entity);
         interventionRepository.delete(entity);
+        publishChange(InterventionChangeEvent.deleted(before));
     }
 
     public record InterventionFilters(
@@ -0,0 +1,23 @@
+package io.smartip.interventions;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+class InterventionWebConfig {
+
+    /**
+     * The list combines filters, paging and sorting, so there is no cheap version to compare against; hashing the
+     * rendered page still turns unchanged polls into bodiless 304 responses.
+     */
+    @Bean
+    FilterRegistrationBean<ShallowEtagHeaderFilter> interventionListEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/interventions");
+        registration.setName("interventionListEtagFilter");
+        return registration;
+    }
+}
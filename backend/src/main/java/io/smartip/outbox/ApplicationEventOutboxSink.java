@@ -0,0 +1,63 @@
+package io.smartip.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts relayed events to the in-process listeners of every node. The relay batch goes to one node only, so
+ * instead of publishing locally the events are sent with {@code pg_notify} inside the relay transaction: Postgres
+ * delivers them to each node's {@link OutboxEventListener} once the batch commits, and drops them if a later sink
+ * fails and the batch rolls back.
+ */
+@Component
+class ApplicationEventOutboxSink implements OutboxSink {
+
+    static final String CHANNEL = "outbox_events";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationEventOutboxSink.class);
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    ApplicationEventOutboxSink(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws JsonProcessingException {
+        List<String> payloads = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            String payload = objectMapper.writeValueAsString(event);
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                // in-process listeners are best effort (caches, push channels); durable sinks still get the event
+                LOGGER.warn("Outbox event {} too large to broadcast, skipping in-process listeners", event.id());
+                continue;
+            }
+            payloads.add(payload);
+        }
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT pg_notify(?, payload) FROM unnest(?) AS payload");
+            statement.setString(1, CHANNEL);
+            statement.setArray(2, connection.createArrayOf("text", payloads.toArray()));
+            return statement;
+        }, rs -> null);
+    }
+}
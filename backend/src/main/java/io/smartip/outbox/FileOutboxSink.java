@@ -0,0 +1,63 @@
+package io.smartip.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "outbox.sinks.file", name = "enabled", havingValue = "true")
+class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    // not a monitor: the relay may run on a virtual thread, which must not stay pinned during file I/O
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    FileOutboxSink(@Value("${outbox.sinks.file.path:./data/outbox-events.jsonl}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        writeLock.lock();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxEvent event : events) {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("id", event.id());
+                    line.put("aggregateType", event.aggregateType());
+                    line.put("aggregateId", event.aggregateId());
+                    line.put("eventType", event.eventType());
+                    line.put("createdAt", event.createdAt());
+                    line.put("payload", objectMapper.readTree(event.payload()));
+                    writer.write(objectMapper.writeValueAsString(line));
+                    writer.newLine();
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
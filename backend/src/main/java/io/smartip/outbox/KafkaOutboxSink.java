@@ -0,0 +1,52 @@
+package io.smartip.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnClass(name = "org.springframework.kafka.core.KafkaTemplate")
+@ConditionalOnProperty(prefix = "outbox.sinks.kafka", name = "enabled", havingValue = "true")
+class KafkaOutboxSink implements OutboxSink {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final Duration sendTimeout;
+
+    KafkaOutboxSink(
+            KafkaTemplate<String, String> kafkaTemplate,
+            @Value("${outbox.sinks.kafka.topic:sip.outbox.interventions}") String topic,
+            @Value("${outbox.sinks.kafka.send-timeout:PT10S}") Duration sendTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Override
+    public String name() {
+        return "kafka";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws Exception {
+        List<CompletableFuture<?>> pending = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(
+                    topic, event.aggregateType() + ":" + event.aggregateId(), event.payload());
+            record.headers().add("eventType", event.eventType().getBytes(StandardCharsets.UTF_8));
+            record.headers().add("outboxId", Long.toString(event.id()).getBytes(StandardCharsets.UTF_8));
+            pending.add(kafkaTemplate.send(record));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,6 @@
+package io.smartip.outbox;
+
+import java.time.Instant;
+
+public record OutboxEvent(
+        long id, String aggregateType, long aggregateId, String eventType, String payload, Instant createdAt) {}
@@ -0,0 +1,129 @@
+package io.smartip.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Republishes the events broadcast by {@link ApplicationEventOutboxSink} as {@link OutboxEvent}s on this node. Events
+ * committed while the listener is reconnecting are not replayed; the in-process consumers (caches with a TTL, push
+ * channels) tolerate that.
+ */
+@Component
+class OutboxEventListener implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxEventListener.class);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long reconnectBackoffMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    OutboxEventListener(
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${outbox.listener.reconnect-backoff:5000}") long reconnectBackoffMs) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.reconnectBackoffMs = reconnectBackoffMs;
+    }
+
+    void handleNotification(String payload) {
+        OutboxEvent event;
+        try {
+            event = objectMapper.readValue(payload, OutboxEvent.class);
+        } catch (JsonProcessingException ex) {
+            LOGGER.warn("Ignoring malformed {} notification: {}", ApplicationEventOutboxSink.CHANNEL, ex.getMessage());
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("In-process listener failed for outbox event {}: {}", event.id(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "outbox-event-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ApplicationEventOutboxSink.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception ex) {
+                if (running) {
+                    LOGGER.warn("Outbox event listener interrupted, reconnecting: {}", ex.getMessage());
+                    sleep(reconnectBackoffMs);
+                }
+            }
+        }
+    }
+
+    private Connection openListenerConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        PGProperty.USER.set(connectionProperties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(connectionProperties, dataSourceProperties.determinePassword());
+        PGProperty.APPLICATION_NAME.set(connectionProperties, "outbox-event-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.smartip.outbox;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository repository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OutboxRelay(
+            OutboxRepository repository,
+            List<OutboxSink> sinks,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.repository = repository;
+        this.sinks = List.copyOf(sinks);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:1000}")
+    public void scheduledDrain() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Relays pending events batch by batch. Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, handed to
+     * every sink and deleted in the same transaction, so concurrent relays on other nodes never publish the same
+     * rows to the external sinks and a failing sink leaves the batch in place for the next run. In-process listeners
+     * on every node are reached through {@link ApplicationEventOutboxSink} once the batch commits.
+     */
+    public int drain() {
+        int relayed = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer published;
+            try {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Outbox relay failed, batch will be retried: {}", ex.getMessage());
+                break;
+            }
+            int count = published != null ? published : 0;
+            relayed += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = repository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (Exception ex) {
+                throw new IllegalStateException("Outbox sink '" + sink.name() + "' failed", ex);
+            }
+        }
+        repository.delete(batch);
+        return batch.size();
+    }
+}
@@ -0,0 +1,62 @@
+package io.smartip.outbox;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class OutboxRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, ?::jsonb)
+            """;
+
+    private static final String LOCK_BATCH_SQL = """
+            SELECT id,
+                   aggregate_type,
+                   aggregate_id,
+                   event_type,
+                   payload::text AS payload,
+                   created_at
+            FROM outbox
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void insert(String aggregateType, long aggregateId, String eventType, String payload) {
+        jdbcTemplate.update(INSERT_SQL, aggregateType, aggregateId, eventType, payload);
+    }
+
+    List<OutboxEvent> lockBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL, this::mapEvent, limit);
+    }
+
+    void delete(List<OutboxEvent> events) {
+        Long[] ids = events.stream().map(OutboxEvent::id).toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("DELETE FROM outbox WHERE id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+
+    private OutboxEvent mapEvent(ResultSet rs, int rowNum) throws SQLException {
+        return new OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("aggregate_type"),
+                rs.getLong("aggregate_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toInstant());
+    }
+}
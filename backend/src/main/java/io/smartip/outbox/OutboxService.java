@@ -0,0 +1,34 @@
+package io.smartip.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxService {
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends an event to the outbox. Must run inside the transaction that performs the change so that the
+     * event is committed (or rolled back) atomically with it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, long aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize outbox payload for " + aggregateType, ex);
+        }
+        repository.insert(aggregateType, aggregateId, eventType, json);
+    }
+}
@@ -0,0 +1,13 @@
+package io.smartip.outbox;
+
+import java.util.List;
+
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * Publishes a batch in outbox order. Throwing aborts the relay transaction so the batch is retried.
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,97 @@
+package io.smartip.replication;
+
+import io.smartip.replication.PgOutputMessage.RowChange;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keys touched by one or more replicated transactions. Analytics rows are recomputed per key from the
+ * {@code interventions} table, which keeps the apply step idempotent when a transaction is replayed.
+ */
+class InterventionChangeSet {
+
+    private static final DateTimeFormatter PG_TIMESTAMPTZ = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .optionalEnd()
+            .appendOffset("+HH:mm", "Z")
+            .toFormatter();
+
+    private final Set<LocalDate> metricDates = new TreeSet<>();
+    private final Set<Long> technicianIds = new TreeSet<>();
+    private final Set<Long> interventionIds = new TreeSet<>();
+    private boolean fullRefresh;
+    private long endLsn;
+
+    void add(RowChange change) {
+        register(change.oldValues());
+        register(change.newValues());
+    }
+
+    void requestFullRefresh() {
+        fullRefresh = true;
+    }
+
+    void merge(InterventionChangeSet other) {
+        metricDates.addAll(other.metricDates);
+        technicianIds.addAll(other.technicianIds);
+        interventionIds.addAll(other.interventionIds);
+        fullRefresh |= other.fullRefresh;
+        endLsn = Math.max(endLsn, other.endLsn);
+    }
+
+    void commitAt(long lsn) {
+        endLsn = Math.max(endLsn, lsn);
+    }
+
+    Set<LocalDate> metricDates() {
+        return metricDates;
+    }
+
+    Set<Long> technicianIds() {
+        return technicianIds;
+    }
+
+    Set<Long> interventionIds() {
+        return interventionIds;
+    }
+
+    boolean fullRefresh() {
+        return fullRefresh;
+    }
+
+    long endLsn() {
+        return endLsn;
+    }
+
+    boolean isEmpty() {
+        return !fullRefresh && interventionIds.isEmpty();
+    }
+
+    private void register(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        parseLong(values.get("id")).ifPresent(interventionIds::add);
+        parseLong(values.get("technician_id")).ifPresent(technicianIds::add);
+        String plannedAt = values.get("planned_at");
+        if (plannedAt != null) {
+            metricDates.add(OffsetDateTime.parse(plannedAt, PG_TIMESTAMPTZ)
+                    .withOffsetSameInstant(ZoneOffset.UTC)
+                    .toLocalDate());
+        }
+    }
+
+    private static Optional<Long> parseLong(String value) {
+        return value == null || value.isBlank() ? Optional.empty() : Optional.of(Long.parseLong(value));
+    }
+}
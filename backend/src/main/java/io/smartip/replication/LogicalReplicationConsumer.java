@@ -0,0 +1,321 @@
+package io.smartip.replication;
+
+import io.smartip.dashboard.AnalyticsAggregationService;
+import io.smartip.dashboard.DashboardCacheEvictor;
+import io.smartip.replication.PgOutputMessage.Begin;
+import io.smartip.replication.PgOutputMessage.Commit;
+import io.smartip.replication.PgOutputMessage.Relation;
+import io.smartip.replication.PgOutputMessage.RowChange;
+import io.smartip.replication.PgOutputMessage.Truncate;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams {@code public.interventions} changes from a {@code pgoutput} replication slot and keeps the analytics
+ * tables current without the Kafka/Debezium/Flink stack. A reader thread decodes committed transactions into a
+ * bounded queue (blocking the stream when the applier falls behind) and an applier thread merges them into
+ * batches, applies the recomputation and checkpoints the end LSN in the same transaction. The slot is only
+ * confirmed up to applied LSNs, so a crash replays from the last checkpoint.
+ */
+@Component
+@ConditionalOnProperty(prefix = "analytics.replication", name = "enabled", havingValue = "true")
+public class LogicalReplicationConsumer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogicalReplicationConsumer.class);
+
+    private static final String SOURCE_SCHEMA = "public";
+    private static final String SOURCE_TABLE = "interventions";
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final ReplicationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReplicationAnalyticsWriter writer;
+    private final AnalyticsAggregationService aggregationService;
+    private final DashboardCacheEvictor cacheEvictor;
+    private final BlockingQueue<InterventionChangeSet> queue;
+    private final AtomicLong appliedLsn = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread readerThread;
+    private Thread applierThread;
+    private long lastCacheEviction;
+    private boolean cacheDirty;
+
+    public LogicalReplicationConsumer(
+            ReplicationProperties properties,
+            DataSourceProperties dataSourceProperties,
+            JdbcTemplate jdbcTemplate,
+            ReplicationAnalyticsWriter writer,
+            AnalyticsAggregationService aggregationService,
+            DashboardCacheEvictor cacheEvictor) {
+        requireIdentifier(properties.slotName(), "analytics.replication.slot-name");
+        requireIdentifier(properties.publicationName(), "analytics.replication.publication-name");
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writer = writer;
+        this.aggregationService = aggregationService;
+        this.cacheEvictor = cacheEvictor;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        readerThread = new Thread(this::readLoop, "analytics-replication-reader");
+        applierThread = new Thread(this::applyLoop, "analytics-replication-applier");
+        readerThread.setDaemon(true);
+        applierThread.setDaemon(true);
+        readerThread.start();
+        applierThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        joinQuietly(readerThread);
+        joinQuietly(applierThread);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void readLoop() {
+        while (running) {
+            try {
+                ensurePublication();
+                try (Connection connection = openReplicationConnection()) {
+                    stream(connection.unwrap(PGConnection.class));
+                }
+            } catch (Exception ex) {
+                if (running) {
+                    LOGGER.warn("Analytics replication stream interrupted, reconnecting: {}", ex.getMessage());
+                    sleep(properties.reconnectBackoff().toMillis());
+                }
+            }
+        }
+    }
+
+    private void stream(PGConnection connection) throws Exception {
+        if (!slotExists()) {
+            connection.getReplicationAPI()
+                    .createReplicationSlot()
+                    .logical()
+                    .withSlotName(properties.slotName())
+                    .withOutputPlugin("pgoutput")
+                    .make();
+            LOGGER.info("Created replication slot {}, rebuilding analytics snapshot", properties.slotName());
+            aggregationService.refreshAnalytics();
+        }
+
+        long checkpoint = writer.loadCheckpoint(properties.slotName()).map(LogSequenceNumber::asLong).orElse(0L);
+        appliedLsn.accumulateAndGet(checkpoint, Math::max);
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        long acknowledged = 0;
+        InterventionChangeSet transaction = null;
+
+        try (PGReplicationStream stream = connection.getReplicationAPI()
+                .replicationStream()
+                .logical()
+                .withSlotName(properties.slotName())
+                .withSlotOption("proto_version", 1)
+                .withSlotOption("publication_names", properties.publicationName())
+                .withStatusInterval((int) properties.statusInterval().toMillis(), TimeUnit.MILLISECONDS)
+                .start()) {
+            LOGGER.info("Analytics replication streaming from slot {}", properties.slotName());
+            while (running) {
+                ByteBuffer message = stream.readPending();
+                if (message == null) {
+                    acknowledged = acknowledge(stream, acknowledged, transaction == null);
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    continue;
+                }
+                PgOutputMessage decoded = decoder.decode(message);
+                if (decoded instanceof Begin) {
+                    transaction = new InterventionChangeSet();
+                } else if (decoded instanceof RowChange change && transaction != null && isSource(change.relation())) {
+                    transaction.add(change);
+                } else if (decoded instanceof Truncate truncate && transaction != null
+                        && truncate.relations().stream().anyMatch(this::isSource)) {
+                    transaction.requestFullRefresh();
+                } else if (decoded instanceof Commit commit && transaction != null) {
+                    transaction.commitAt(commit.endLsn());
+                    if (!transaction.isEmpty() && commit.endLsn() > checkpoint) {
+                        enqueue(stream, transaction);
+                    }
+                    transaction = null;
+                }
+                acknowledged = acknowledge(stream, acknowledged, transaction == null);
+            }
+        }
+    }
+
+    private void enqueue(PGReplicationStream stream, InterventionChangeSet transaction) throws Exception {
+        inFlight.incrementAndGet();
+        // backpressure: stop reading while the applier is behind, but keep the walsender alive
+        while (!queue.offer(transaction, 1, TimeUnit.SECONDS)) {
+            if (!running) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            stream.forceUpdateStatus();
+        }
+    }
+
+    private long acknowledge(PGReplicationStream stream, long acknowledged, boolean betweenTransactions) {
+        long lsn = appliedLsn.get();
+        if (betweenTransactions && inFlight.get() == 0) {
+            // nothing pending: WAL up to the last received position is irrelevant to us, release it
+            lsn = Math.max(lsn, stream.getLastReceiveLSN().asLong());
+        }
+        if (lsn > acknowledged) {
+            LogSequenceNumber confirmed = LogSequenceNumber.valueOf(lsn);
+            stream.setAppliedLSN(confirmed);
+            stream.setFlushedLSN(confirmed);
+            return lsn;
+        }
+        return acknowledged;
+    }
+
+    private void applyLoop() {
+        long pollMillis = Math.max(10, properties.flushInterval().toMillis());
+        while (running || !queue.isEmpty()) {
+            try {
+                InterventionChangeSet merged = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (merged == null) {
+                    maybeEvictCaches();
+                    continue;
+                }
+                List<InterventionChangeSet> drained = new ArrayList<>();
+                queue.drainTo(drained, Math.max(0, properties.batchSize() - 1));
+                drained.forEach(merged::merge);
+                applyWithRetry(merged);
+                appliedLsn.accumulateAndGet(merged.endLsn(), Math::max);
+                inFlight.addAndGet(-(drained.size() + 1));
+                cacheDirty = true;
+                maybeEvictCaches();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void applyWithRetry(InterventionChangeSet changes) throws InterruptedException {
+        while (true) {
+            try {
+                if (changes.fullRefresh()) {
+                    aggregationService.refreshAnalytics();
+                    writer.saveCheckpoint(properties.slotName(), changes.endLsn());
+                } else {
+                    writer.apply(changes, properties.slotName());
+                }
+                return;
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Failed to apply replicated analytics batch, retrying: {}", ex.getMessage());
+                TimeUnit.MILLISECONDS.sleep(properties.reconnectBackoff().toMillis());
+            }
+        }
+    }
+
+    private void maybeEvictCaches() {
+        long now = System.currentTimeMillis();
+        if (cacheDirty && now - lastCacheEviction >= properties.cacheEvictInterval().toMillis()) {
+            // tiles were already evicted per position by the writer
+            cacheEvictor.evictAllButTiles();
+            lastCacheEviction = now;
+            cacheDirty = false;
+        }
+    }
+
+    private void ensurePublication() {
+        Integer publications = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_publication WHERE pubname = ?", Integer.class, properties.publicationName());
+        if (publications == null || publications == 0) {
+            jdbcTemplate.execute("CREATE PUBLICATION " + properties.publicationName()
+                    + " FOR TABLE " + SOURCE_SCHEMA + "." + SOURCE_TABLE);
+        }
+        if (properties.replicaIdentityFull()) {
+            // old planned_at/technician_id values are needed to recompute the rows an update moved away from
+            String identity = jdbcTemplate.queryForObject(
+                    "SELECT relreplident::text FROM pg_class WHERE oid = 'public.interventions'::regclass", String.class);
+            if (!"f".equals(identity)) {
+                jdbcTemplate.execute("ALTER TABLE " + SOURCE_SCHEMA + "." + SOURCE_TABLE + " REPLICA IDENTITY FULL");
+            }
+        }
+    }
+
+    private boolean slotExists() {
+        Integer slots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_replication_slots WHERE slot_name = ?", Integer.class, properties.slotName());
+        return slots != null && slots > 0;
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        PGProperty.USER.set(connectionProperties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(connectionProperties, dataSourceProperties.determinePassword());
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(connectionProperties, "10");
+        PGProperty.REPLICATION.set(connectionProperties, "database");
+        PGProperty.PREFER_QUERY_MODE.set(connectionProperties, "simple");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private boolean isSource(Relation relation) {
+        return SOURCE_SCHEMA.equals(relation.namespace()) && SOURCE_TABLE.equals(relation.name());
+    }
+
+    private static void requireIdentifier(String value, String property) {
+        if (value == null || !IDENTIFIER.matcher(value).matches()) {
+            throw new IllegalArgumentException("Invalid value for " + property + ": " + value);
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(10_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.smartip.replication;
+
+import io.smartip.replication.PgOutputMessage.Begin;
+import io.smartip.replication.PgOutputMessage.Commit;
+import io.smartip.replication.PgOutputMessage.Ignored;
+import io.smartip.replication.PgOutputMessage.Kind;
+import io.smartip.replication.PgOutputMessage.Relation;
+import io.smartip.replication.PgOutputMessage.RowChange;
+import io.smartip.replication.PgOutputMessage.Truncate;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder for the {@code pgoutput} logical replication protocol (proto_version 1, text tuple format).
+ * Relation messages are cached so that row changes can be resolved to column names.
+ */
+class PgOutputDecoder {
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    PgOutputMessage decode(ByteBuffer buffer) {
+        char tag = (char) buffer.get();
+        return switch (tag) {
+            case 'B' -> decodeBegin(buffer);
+            case 'C' -> decodeCommit(buffer);
+            case 'R' -> decodeRelation(buffer);
+            case 'I' -> decodeInsert(buffer);
+            case 'U' -> decodeUpdate(buffer);
+            case 'D' -> decodeDelete(buffer);
+            case 'T' -> decodeTruncate(buffer);
+            default -> new Ignored(tag);
+        };
+    }
+
+    private Begin decodeBegin(ByteBuffer buffer) {
+        long finalLsn = buffer.getLong();
+        buffer.getLong(); // commit timestamp
+        int xid = buffer.getInt();
+        return new Begin(finalLsn, xid);
+    }
+
+    private Commit decodeCommit(ByteBuffer buffer) {
+        buffer.get(); // flags
+        long commitLsn = buffer.getLong();
+        long endLsn = buffer.getLong();
+        buffer.getLong(); // commit timestamp
+        return new Commit(commitLsn, endLsn);
+    }
+
+    private Relation decodeRelation(ByteBuffer buffer) {
+        int oid = buffer.getInt();
+        String namespace = readString(buffer);
+        String name = readString(buffer);
+        buffer.get(); // replica identity setting
+        short columnCount = buffer.getShort();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get(); // flags
+            columns.add(readString(buffer));
+            buffer.getInt(); // type oid
+            buffer.getInt(); // type modifier
+        }
+        Relation relation = new Relation(oid, namespace, name, List.copyOf(columns));
+        relations.put(oid, relation);
+        return relation;
+    }
+
+    private RowChange decodeInsert(ByteBuffer buffer) {
+        Relation relation = relation(buffer.getInt());
+        expect(buffer, 'N');
+        return new RowChange(Kind.INSERT, relation, Map.of(), readTuple(buffer, relation));
+    }
+
+    private RowChange decodeUpdate(ByteBuffer buffer) {
+        Relation relation = relation(buffer.getInt());
+        Map<String, String> oldValues = Map.of();
+        char marker = (char) buffer.get();
+        if (marker == 'K' || marker == 'O') {
+            oldValues = readTuple(buffer, relation);
+            marker = (char) buffer.get();
+        }
+        if (marker != 'N') {
+            throw new IllegalStateException("Unexpected pgoutput update marker '" + marker + "'");
+        }
+        return new RowChange(Kind.UPDATE, relation, oldValues, readTuple(buffer, relation));
+    }
+
+    private RowChange decodeDelete(ByteBuffer buffer) {
+        Relation relation = relation(buffer.getInt());
+        char marker = (char) buffer.get();
+        if (marker != 'K' && marker != 'O') {
+            throw new IllegalStateException("Unexpected pgoutput delete marker '" + marker + "'");
+        }
+        return new RowChange(Kind.DELETE, relation, readTuple(buffer, relation), Map.of());
+    }
+
+    private Truncate decodeTruncate(ByteBuffer buffer) {
+        int relationCount = buffer.getInt();
+        buffer.get(); // options
+        List<Relation> truncated = new ArrayList<>(relationCount);
+        for (int i = 0; i < relationCount; i++) {
+            truncated.add(relation(buffer.getInt()));
+        }
+        return new Truncate(truncated);
+    }
+
+    private Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        short columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            String column = i < relation.columns().size() ? relation.columns().get(i) : "col" + i;
+            char kind = (char) buffer.get();
+            switch (kind) {
+                case 'n' -> values.put(column, null);
+                case 'u' -> {
+                    // unchanged TOASTed value, not sent by the server
+                }
+                case 't', 'b' -> {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    values.put(column, new String(bytes, StandardCharsets.UTF_8));
+                }
+                default -> throw new IllegalStateException("Unexpected pgoutput column kind '" + kind + "'");
+            }
+        }
+        return values;
+    }
+
+    private Relation relation(int oid) {
+        Relation relation = relations.get(oid);
+        if (relation == null) {
+            throw new IllegalStateException("Row change received for unknown relation " + oid);
+        }
+        return relation;
+    }
+
+    private void expect(ByteBuffer buffer, char expected) {
+        char marker = (char) buffer.get();
+        if (marker != expected) {
+            throw new IllegalStateException("Expected pgoutput marker '" + expected + "' but got '" + marker + "'");
+        }
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // scan up to the NUL terminator
+        }
+        int length = buffer.position() - start - 1;
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package io.smartip.replication;
+
+import java.util.List;
+import java.util.Map;
+
+sealed interface PgOutputMessage {
+
+    record Begin(long finalLsn, int xid) implements PgOutputMessage {}
+
+    record Commit(long commitLsn, long endLsn) implements PgOutputMessage {}
+
+    record Relation(int oid, String namespace, String name, List<String> columns) implements PgOutputMessage {}
+
+    record RowChange(Kind kind, Relation relation, Map<String, String> oldValues, Map<String, String> newValues)
+            implements PgOutputMessage {}
+
+    record Truncate(List<Relation> relations) implements PgOutputMessage {}
+
+    record Ignored(char tag) implements PgOutputMessage {}
+
+    enum Kind {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+}
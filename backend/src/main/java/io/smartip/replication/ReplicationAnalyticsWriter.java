@@ -0,0 +1,358 @@
+package io.smartip.replication;
+
+import io.smartip.dashboard.GeoViewChangedEvent;
+import io.smartip.dashboard.StatusTrendRollups;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.postgresql.replication.LogSequenceNumber;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies the upserts of {@code infra/cdc/flink/analytics_job.sql} for the keys touched by replicated
+ * transactions, together with the LSN checkpoint, in a single database transaction. The geo view positions it
+ * rewrites are broadcast as a {@link GeoViewChangedEvent} so every node evicts its map tiles once the transaction
+ * commits.
+ */
+@Repository
+class ReplicationAnalyticsWriter {
+
+    private static final String DELETE_DAILY_METRICS_SQL =
+            "DELETE FROM analytics.intervention_daily_metrics WHERE metric_date = ANY (?)";
+
+    private static final String INSERT_DAILY_METRICS_SQL = """
+            INSERT INTO analytics.intervention_daily_metrics (
+                metric_date,
+                status,
+                total_count,
+                avg_completion_seconds,
+                validation_ratio,
+                last_refreshed_at)
+            WITH days AS (
+                SELECT unnest(?::date[]) AS metric_date
+            ),
+            base AS (
+                SELECT
+                    d.metric_date,
+                    i.status,
+                    CASE
+                        WHEN i.completed_at IS NOT NULL AND i.started_at IS NOT NULL
+                            THEN EXTRACT(EPOCH FROM i.completed_at - i.started_at)
+                        ELSE NULL
+                    END AS completion_seconds
+                FROM days d
+                JOIN interventions i
+                  ON i.planned_at >= (d.metric_date::timestamp AT TIME ZONE 'UTC')
+                 AND i.planned_at < ((d.metric_date + 1)::timestamp AT TIME ZONE 'UTC')
+            ),
+            aggregated AS (
+                SELECT
+                    metric_date,
+                    status,
+                    COUNT(*) AS total_count,
+                    AVG(completion_seconds) AS avg_completion_seconds
+                FROM base
+                GROUP BY metric_date, status
+            ),
+            daily_completed AS (
+                SELECT
+                    metric_date,
+                    SUM(CASE WHEN status IN ('COMPLETED', 'VALIDATED') THEN total_count ELSE 0 END) AS completed_total,
+                    SUM(CASE WHEN status = 'VALIDATED' THEN total_count ELSE 0 END) AS validated_total
+                FROM aggregated
+                GROUP BY metric_date
+            )
+            SELECT
+                a.metric_date,
+                a.status,
+                a.total_count,
+                a.avg_completion_seconds,
+                CASE
+                    WHEN a.status = 'VALIDATED' AND dc.completed_total > 0
+                        THEN (dc.validated_total::numeric / dc.completed_total::numeric) * 100
+                    ELSE NULL
+                END AS validation_ratio,
+                ?
+            FROM aggregated a
+            JOIN daily_completed dc ON dc.metric_date = a.metric_date
+            """;
+
+    private static final String DELETE_TECHNICIAN_DAILY_METRICS_SQL = """
+            DELETE FROM analytics.intervention_daily_technician_metrics
+            WHERE metric_date = ANY (?)
+              AND technician_id = ANY (?)
+            """;
+
+    private static final String INSERT_TECHNICIAN_DAILY_METRICS_SQL = """
+            INSERT INTO analytics.intervention_daily_technician_metrics (
+                technician_id,
+                metric_date,
+                status,
+                total_count,
+                avg_completion_seconds,
+                validation_ratio,
+                last_refreshed_at)
+            WITH days AS (
+                SELECT unnest(?::date[]) AS metric_date
+            ),
+            base AS (
+                SELECT
+                    i.technician_id,
+                    d.metric_date,
+                    i.status,
+                    CASE
+                        WHEN i.completed_at IS NOT NULL AND i.started_at IS NOT NULL
+                            THEN EXTRACT(EPOCH FROM i.completed_at - i.started_at)
+                        ELSE NULL
+                    END AS completion_seconds
+                FROM days d
+                JOIN interventions i
+                  ON i.planned_at >= (d.metric_date::timestamp AT TIME ZONE 'UTC')
+                 AND i.planned_at < ((d.metric_date + 1)::timestamp AT TIME ZONE 'UTC')
+                WHERE i.technician_id = ANY (?)
+            ),
+            aggregated AS (
+                SELECT
+                    technician_id,
+                    metric_date,
+                    status,
+                    COUNT(*) AS total_count,
+                    AVG(completion_seconds) AS avg_completion_seconds
+                FROM base
+                GROUP BY technician_id, metric_date, status
+            ),
+            daily_completed AS (
+                SELECT
+                    technician_id,
+                    metric_date,
+                    SUM(CASE WHEN status IN ('COMPLETED', 'VALIDATED') THEN total_count ELSE 0 END) AS completed_total,
+                    SUM(CASE WHEN status = 'VALIDATED' THEN total_count ELSE 0 END) AS validated_total
+                FROM aggregated
+                GROUP BY technician_id, metric_date
+            )
+            SELECT
+                a.technician_id,
+                a.metric_date,
+                a.status,
+                a.total_count,
+                a.avg_completion_seconds,
+                CASE
+                    WHEN a.status = 'VALIDATED' AND dc.completed_total > 0
+                        THEN (dc.validated_total::numeric / dc.completed_total::numeric) * 100
+                    ELSE NULL
+                END AS validation_ratio,
+                ?
+            FROM aggregated a
+            JOIN daily_completed dc
+              ON dc.technician_id = a.technician_id AND dc.metric_date = a.metric_date
+            """;
+
+    private static final String UPSERT_TECHNICIAN_LOAD_SQL = """
+            INSERT INTO analytics.intervention_technician_load (
+                technician_id,
+                open_count,
+                completed_today,
+                avg_completion_seconds,
+                last_refreshed_at)
+            SELECT
+                technician_id,
+                COUNT(*) FILTER (WHERE status IN ('SCHEDULED','IN_PROGRESS')) AS open_count,
+                COUNT(*) FILTER (
+                    WHERE status IN ('COMPLETED','VALIDATED')
+                      AND completed_at >= date_trunc('day', now())
+                      AND completed_at < date_trunc('day', now()) + INTERVAL '1 day') AS completed_today,
+                AVG(EXTRACT(EPOCH FROM completed_at - started_at))
+                    FILTER (WHERE completed_at IS NOT NULL AND started_at IS NOT NULL) AS avg_completion_seconds,
+                ?
+            FROM interventions
+            WHERE technician_id = ANY (?)
+            GROUP BY technician_id
+            ON CONFLICT (technician_id) DO UPDATE
+                SET open_count = EXCLUDED.open_count,
+                    completed_today = EXCLUDED.completed_today,
+                    avg_completion_seconds = EXCLUDED.avg_completion_seconds,
+                    last_refreshed_at = EXCLUDED.last_refreshed_at
+            """;
+
+    private static final String DELETE_IDLE_TECHNICIAN_LOAD_SQL = """
+            DELETE FROM analytics.intervention_technician_load t
+            WHERE t.technician_id = ANY (?)
+              AND NOT EXISTS (SELECT 1 FROM interventions i WHERE i.technician_id = t.technician_id)
+            """;
+
+    private static final String SELECT_GEO_POSITIONS_SQL = """
+            SELECT latitude, longitude, technician_id
+            FROM analytics.intervention_geo_view
+            WHERE intervention_id = ANY (?)
+            """;
+
+    private static final String UPSERT_GEO_VIEW_SQL = """
+            INSERT INTO analytics.intervention_geo_view (
+                intervention_id,
+                latitude,
+                longitude,
+                status,
+                technician_id,
+                planned_at,
+                updated_at)
+            SELECT
+                id,
+                latitude,
+                longitude,
+                status,
+                technician_id,
+                planned_at,
+                COALESCE(updated_at, created_at)
+            FROM interventions
+            WHERE id = ANY (?)
+              AND latitude IS NOT NULL
+              AND longitude IS NOT NULL
+            ON CONFLICT (intervention_id) DO UPDATE
+                SET latitude = EXCLUDED.latitude,
+                    longitude = EXCLUDED.longitude,
+                    status = EXCLUDED.status,
+                    technician_id = EXCLUDED.technician_id,
+                    planned_at = EXCLUDED.planned_at,
+                    updated_at = EXCLUDED.updated_at
+            RETURNING latitude, longitude, technician_id
+            """;
+
+    private static final String DELETE_STALE_GEO_VIEW_SQL = """
+            DELETE FROM analytics.intervention_geo_view g
+            WHERE g.intervention_id = ANY (?)
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM interventions i
+                  WHERE i.id = g.intervention_id
+                    AND i.latitude IS NOT NULL
+                    AND i.longitude IS NOT NULL)
+            """;
+
+    private static final String SELECT_CHECKPOINT_SQL =
+            "SELECT confirmed_lsn::text FROM analytics.replication_checkpoint WHERE slot_name = ?";
+
+    private static final String UPSERT_CHECKPOINT_SQL = """
+            INSERT INTO analytics.replication_checkpoint (slot_name, confirmed_lsn, updated_at)
+            VALUES (?, ?::pg_lsn, now())
+            ON CONFLICT (slot_name) DO UPDATE
+                SET confirmed_lsn = EXCLUDED.confirmed_lsn,
+                    updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final RowMapper<GeoViewChangedEvent.Position> POSITION_MAPPER = (rs, rowNum) ->
+            new GeoViewChangedEvent.Position(
+                    rs.getDouble("latitude"), rs.getDouble("longitude"), nullableLong(rs, "technician_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatusTrendRollups rollups;
+
+    ReplicationAnalyticsWriter(
+            JdbcTemplate jdbcTemplate, StatusTrendRollups rollups) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollups = rollups;
+    }
+
+    @Transactional
+    public void apply(InterventionChangeSet changes, String slotName) {
+        Timestamp refreshedAt = Timestamp.from(Instant.now());
+        if (!changes.metricDates().isEmpty()) {
+            String[] dates = changes.metricDates().stream().map(LocalDate::toString).toArray(String[]::new);
+            updateWithArray(DELETE_DAILY_METRICS_SQL, "date", dates, null);
+            updateWithArray(INSERT_DAILY_METRICS_SQL, "date", dates, refreshedAt);
+            if (!changes.technicianIds().isEmpty()) {
+                Long[] technicianIds = changes.technicianIds().toArray(Long[]::new);
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(DELETE_TECHNICIAN_DAILY_METRICS_SQL);
+                    statement.setArray(1, connection.createArrayOf("date", dates));
+                    statement.setArray(2, connection.createArrayOf("bigint", technicianIds));
+                    return statement;
+                });
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(INSERT_TECHNICIAN_DAILY_METRICS_SQL);
+                    statement.setArray(1, connection.createArrayOf("date", dates));
+                    statement.setArray(2, connection.createArrayOf("bigint", technicianIds));
+                    statement.setTimestamp(3, refreshedAt);
+                    return statement;
+                });
+            }
+            rollups.rollup(changes.metricDates(), refreshedAt.toInstant());
+        }
+        if (!changes.technicianIds().isEmpty()) {
+            Long[] technicianIds = changes.technicianIds().toArray(Long[]::new);
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_TECHNICIAN_LOAD_SQL);
+                statement.setTimestamp(1, refreshedAt);
+                statement.setArray(2, connection.createArrayOf("bigint", technicianIds));
+                return statement;
+            });
+            updateWithArray(DELETE_IDLE_TECHNICIAN_LOAD_SQL, "bigint", technicianIds, null);
+        }
+        if (!changes.interventionIds().isEmpty()) {
+            Long[] interventionIds = changes.interventionIds().toArray(Long[]::new);
+            List<GeoViewChangedEvent.Position> positions = new ArrayList<>(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_GEO_POSITIONS_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", interventionIds));
+                return statement;
+            }, POSITION_MAPPER));
+            positions.addAll(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_GEO_VIEW_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", interventionIds));
+                return statement;
+            }, POSITION_MAPPER));
+            updateWithArray(DELETE_STALE_GEO_VIEW_SQL, "bigint", interventionIds, null);
+            if (!positions.isEmpty()) {
+                // delivered to every node once this transaction commits
+                List<String> payloads = new GeoViewChangedEvent(positions).toPayloads();
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement =
+                            connection.prepareStatement("SELECT pg_notify(?, payload) FROM unnest(?) AS payload");
+                    statement.setString(1, GeoViewChangedEvent.CHANNEL);
+                    statement.setArray(2, connection.createArrayOf("text", payloads.toArray()));
+                    return statement;
+                }, rs -> null);
+            }
+        }
+        saveCheckpoint(slotName, changes.endLsn());
+    }
+
+    @Transactional
+    public void saveCheckpoint(String slotName, long lsn) {
+        if (lsn <= 0) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, slotName, LogSequenceNumber.valueOf(lsn).asString());
+    }
+
+    Optional<LogSequenceNumber> loadCheckpoint(String slotName) {
+        return jdbcTemplate.query(SELECT_CHECKPOINT_SQL, (rs, rowNum) -> rs.getString(1), slotName).stream()
+                .findFirst()
+                .map(LogSequenceNumber::valueOf);
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private void updateWithArray(String sql, String elementType, Object[] values, Timestamp trailingTimestamp) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            Array array = connection.createArrayOf(elementType, values);
+            statement.setArray(1, array);
+            if (trailingTimestamp != null) {
+                statement.setTimestamp(2, trailingTimestamp);
+            }
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package io.smartip.replication;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "analytics.replication")
+public record ReplicationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("sip_analytics_slot") String slotName,
+        @DefaultValue("sip_analytics_publication") String publicationName,
+        @DefaultValue("true") boolean replicaIdentityFull,
+        @DefaultValue("PT10S") Duration statusInterval,
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("PT0.2S") Duration flushInterval,
+        @DefaultValue("PT1S") Duration cacheEvictInterval,
+        @DefaultValue("PT5S") Duration reconnectBackoff) {}
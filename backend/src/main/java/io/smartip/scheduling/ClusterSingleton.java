@@ -0,0 +1,31 @@
+package io.smartip.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated (typically {@code @Scheduled}) method on at most one replica at a time. The replica that wins a
+ * Postgres advisory lock named after the job executes it; the others skip that run. With a {@link #minInterval()}
+ * the job additionally runs at most once per interval across the cluster.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterSingleton {
+
+    /** Job name, used as the lock key and as the {@code job} metric tag. */
+    String value();
+
+    /**
+     * Minimum time between two starts of the job on any node ({@code 300000}, {@code 5m}, {@code PT5M}; placeholders
+     * are resolved). Runs claim a lease in {@code scheduler_job_lease} and skip when the previous start is more
+     * recent. Empty: only overlapping runs are prevented.
+     */
+    String minInterval() default "";
+
+    /** Waits for the lock instead of skipping, for callers that need the job to have run when they return. */
+    boolean waitForLock() default false;
+}
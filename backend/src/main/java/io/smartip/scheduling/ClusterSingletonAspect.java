@@ -0,0 +1,181 @@
+package io.smartip.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+/**
+ * Guards {@link ClusterSingleton} methods with a session-level advisory lock held on a dedicated connection for the
+ * duration of the run. It is ordered ahead of the transaction interceptor so the lock is only released after the
+ * job's transaction has committed. Jobs with a minimum interval also claim their lease row under that lock.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+class ClusterSingletonAspect implements EmbeddedValueResolverAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterSingletonAspect.class);
+
+    // first key of the two-int advisory lock space, keeps job locks apart from other advisory lock users
+    private static final int LOCK_NAMESPACE = 0x534950;
+    private static final long LOCK_POLL_MILLIS = 1000;
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(?, hashtext(?))";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?, hashtext(?))";
+    private static final String CLAIM_LEASE_SQL = """
+            INSERT INTO scheduler_job_lease (job, last_run_at)
+            VALUES (?, now())
+            ON CONFLICT (job) DO UPDATE SET last_run_at = now()
+            WHERE scheduler_job_lease.last_run_at <= now() - make_interval(secs => ?)
+            """;
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private StringValueResolver valueResolver = value -> value;
+
+    ClusterSingletonAspect(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Around("@annotation(io.smartip.scheduling.ClusterSingleton)")
+    Object runOnOneNode(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ClusterSingleton singleton = AnnotationUtils.findAnnotation(method, ClusterSingleton.class);
+        String job = singleton.value();
+        Duration minInterval = minInterval(singleton);
+        Timer.Sample acquisition = Timer.start(meterRegistry);
+        Connection locked;
+        try {
+            locked = lock(job, singleton.waitForLock());
+        } catch (SQLException ex) {
+            acquisition.stop(meterRegistry.timer("scheduler.cluster.lock", "job", job, "outcome", "error"));
+            if (singleton.waitForLock()) {
+                throw new CannotAcquireLockException("Advisory lock of job " + job + " unavailable", ex);
+            }
+            LOGGER.warn("Skipping job {}: advisory lock unavailable ({})", job, ex.getMessage());
+            return null;
+        }
+        if (locked == null) {
+            acquisition.stop(meterRegistry.timer("scheduler.cluster.lock", "job", job, "outcome", "skipped"));
+            LOGGER.debug("Skipping job {}: running on another node", job);
+            return null;
+        }
+        try (Connection connection = locked) {
+            boolean leased;
+            try {
+                leased = minInterval.isZero() || claimLease(connection, job, minInterval);
+            } catch (SQLException ex) {
+                acquisition.stop(meterRegistry.timer("scheduler.cluster.lock", "job", job, "outcome", "error"));
+                LOGGER.warn("Skipping job {}: lease unavailable ({})", job, ex.getMessage());
+                release(connection, job);
+                return null;
+            }
+            acquisition.stop(meterRegistry.timer(
+                    "scheduler.cluster.lock", "job", job, "outcome", leased ? "acquired" : "recent"));
+            if (!leased) {
+                LOGGER.debug("Skipping job {}: already ran within {}", job, minInterval);
+                release(connection, job);
+                return null;
+            }
+            Timer.Sample run = Timer.start(meterRegistry);
+            String outcome = "failure";
+            try {
+                Object result = joinPoint.proceed();
+                outcome = "success";
+                return result;
+            } finally {
+                run.stop(meterRegistry.timer("scheduler.cluster.run", "job", job, "outcome", outcome));
+                release(connection, job);
+            }
+        }
+    }
+
+    /** Returns a connection holding the job's lock, or {@code null} when another node holds it and we do not wait. */
+    private Connection lock(String job, boolean waitForLock) throws SQLException, InterruptedException {
+        while (true) {
+            Connection connection = dataSource.getConnection();
+            boolean acquired;
+            try {
+                acquired = execute(connection, TRY_LOCK_SQL, job);
+            } catch (SQLException | RuntimeException ex) {
+                connection.close();
+                throw ex;
+            }
+            if (acquired) {
+                return connection;
+            }
+            connection.close();
+            if (!waitForLock) {
+                return null;
+            }
+            // poll rather than block in pg_advisory_lock: a waiting caller must not hold a connection the running
+            // job needs from the same pool
+            TimeUnit.MILLISECONDS.sleep(LOCK_POLL_MILLIS);
+        }
+    }
+
+    private Duration minInterval(ClusterSingleton singleton) {
+        if (singleton.minInterval().isBlank()) {
+            return Duration.ZERO;
+        }
+        return DurationStyle.detectAndParse(valueResolver.resolveStringValue(singleton.minInterval()));
+    }
+
+    private boolean claimLease(Connection connection, String job, Duration minInterval) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CLAIM_LEASE_SQL)) {
+            statement.setString(1, job);
+            statement.setDouble(2, minInterval.toMillis() / 1000.0);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private void release(Connection connection, String job) {
+        try {
+            execute(connection, UNLOCK_SQL, job);
+        } catch (SQLException ex) {
+            LOGGER.warn("Failed to release advisory lock of job {}: {}", job, ex.getMessage());
+            // the lock belongs to the session: drop the connection instead of handing it back to the pool
+            try {
+                connection.abort(Runnable::run);
+            } catch (SQLException abortFailure) {
+                LOGGER.warn("Failed to abort connection holding the lock of job {}", job, abortFailure);
+            }
+        }
+    }
+
+    private boolean execute(Connection connection, String sql, String job) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, job);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -1,92 +1,132 @@
 package io.smartip.security;
 
-import io.smartip.domain.UserEntity;
-import io.smartip.domain.UserRepository;
-import io.smartip.domain.UserRole;
+import io.smartip.security.RefreshTokenService.IssuedRefreshToken;
+import io.smartip.security.RefreshTokenService.Rotation;
+import io.smartip.users.UserDirectory;
 import io.smartip.users.UserService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.time.Duration;
-import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.WebUtils;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
+
+    private final LoginService loginService;
+    private final RefreshTokenService refreshTokenService;
     private final JwtTokenService jwtTokenService;
     private final JwtProperties jwtProperties;
-    private final UserRepository userRepository;
+    private final RefreshTokenProperties refreshTokenProperties;
     private final UserService userService;
 
     public AuthController(
-            AuthenticationManager authenticationManager,
+            LoginService loginService,
+            RefreshTokenService refreshTokenService,
             JwtTokenService jwtTokenService,
             JwtProperties jwtProperties,
-            UserRepository userRepository,
+            RefreshTokenProperties refreshTokenProperties,
             UserService userService) {
-        this.authenticationManager = authenticationManager;
+        this.loginService = loginService;
+        this.refreshTokenService = refreshTokenService;
         this.jwtTokenService = jwtTokenService;
         this.jwtProperties = jwtProperties;
-        this.userRepository = userRepository;
+        this.refreshTokenProperties = refreshTokenProperties;
         this.userService = userService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.email(), request.password()));
-        UserDetails principal = (UserDetails) authentication.getPrincipal();
-        UserEntity user = userRepository
-                .findByEmailIgnoreCase(principal.getUsername())
-                .orElseThrow();
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(
+            @Valid @RequestBody LoginRequest request, HttpServletRequest servletRequest) {
+        return loginService
+                .login(request.email(), request.password(), servletRequest.getRemoteAddr())
+                .thenApply(user -> {
+                    String token = jwtTokenService.generateToken(user);
+                    IssuedRefreshToken refreshToken =
+                            refreshTokenService.issue(user.getId(), user.getTokenVersion());
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.SET_COOKIE, buildCookie(token, jwtProperties.expiration()).toString())
+                            .header(HttpHeaders.SET_COOKIE, buildRefreshCookie(refreshToken.value(),
+                                    refreshToken.timeToLive()).toString())
+                            .body(new LoginResponse(token, user.getEmail(), user.getRole()));
+                });
+    }
+
+    /** Exchanges the refresh cookie for a new access token and a new refresh cookie, without a password check. */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(HttpServletRequest servletRequest) {
+        String presented = refreshCookie(servletRequest);
+        if (presented == null) {
+            throw new InvalidRefreshTokenException();
+        }
+        Rotation rotation = refreshTokenService.rotate(presented);
+        UserDirectory.Entry user = rotation.user();
         String token = jwtTokenService.generateToken(user);
-        ResponseCookie cookie = buildCookie(token, jwtProperties.expiration());
         return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, cookie.toString())
-                .body(new LoginResponse(token, user.getEmail(), user.getRole()));
+                .header(HttpHeaders.SET_COOKIE, buildCookie(token, jwtProperties.expiration()).toString())
+                .header(HttpHeaders.SET_COOKIE, buildRefreshCookie(rotation.refreshToken().value(),
+                        rotation.refreshToken().timeToLive()).toString())
+                .body(new LoginResponse(token, user.email(), user.role()));
     }
 
     @PostMapping("/change-password")
     public ResponseEntity<Void> changePassword(
-            @Valid @RequestBody ChangePasswordRequest request, Authentication authentication) {
-        userService.changePassword(authentication.getName(), request.currentPassword(), request.newPassword());
-        ResponseCookie deleteCookie = buildCookie("", Duration.ZERO);
-        return ResponseEntity.noContent().header(HttpHeaders.SET_COOKIE, deleteCookie.toString()).build();
+            @Valid @RequestBody ChangePasswordRequest request, @CurrentUser AuthenticatedUser user) {
+        // the token version bump also invalidates every refresh token of the user
+        userService.changePassword(user.email(), request.currentPassword(), request.newPassword());
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, buildCookie("", Duration.ZERO).toString())
+                .header(HttpHeaders.SET_COOKIE, buildRefreshCookie("", Duration.ZERO).toString())
+                .build();
     }
 
     @GetMapping("/session")
-    public ResponseEntity<SessionResponse> session(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-        UserRole role = resolveRole(authentication);
-        return ResponseEntity.ok(new SessionResponse(authentication.getName(), role));
+    public SessionResponse session(@CurrentUser AuthenticatedUser user) {
+        return new SessionResponse(user.email(), user.role());
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
-        ResponseCookie deleteCookie = buildCookie("", Duration.ZERO);
-        return ResponseEntity.noContent().header(HttpHeaders.SET_COOKIE, deleteCookie.toString()).build();
+    public ResponseEntity<Void> logout(HttpServletRequest servletRequest) {
+        String presented = refreshCookie(servletRequest);
+        if (presented != null) {
+            refreshTokenService.revoke(presented);
+        }
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, buildCookie("", Duration.ZERO).toString())
+                .header(HttpHeaders.SET_COOKIE, buildRefreshCookie("", Duration.ZERO).toString())
+                .build();
+    }
+
+    private String refreshCookie(HttpServletRequest servletRequest) {
+        Cookie cookie = WebUtils.getCookie(servletRequest, refreshTokenProperties.cookieName());
+        return cookie == null || cookie.getValue().isBlank() ? null : cookie.getValue();
     }
 
     private ResponseCookie buildCookie(String value, Duration maxAge) {
-        ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from(jwtProperties.cookieName(), value)
+        return buildCookie(jwtProperties.cookieName(), value, maxAge, "/");
+    }
+
+    // only sent to the auth endpoints, never with ordinary API calls
+    private ResponseCookie buildRefreshCookie(String value, Duration maxAge) {
+        return buildCookie(refreshTokenProperties.cookieName(), value, maxAge, REFRESH_COOKIE_PATH);
+    }
+
+    private ResponseCookie buildCookie(String name, String value, Duration maxAge, String path) {
+        ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from(name, value)
                 .httpOnly(true)
-                .path("/")
+                .path(path)
                 .sameSite("Lax");
         if (jwtProperties.cookieSecure()) {
             builder.secure(true);
@@ -98,15 +138,4 @@ public class AuthController {
         }
         return builder.build();
     }
-
-    private UserRole resolveRole(Authentication authentication) {
-        return authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(auth -> auth.startsWith("ROLE_"))
-                .map(auth -> auth.substring(5))
-                .map(role -> role.toUpperCase(Locale.ROOT))
-                .map(UserRole::valueOf)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unknown role for user"));
-    }
 }
@@ -0,0 +1,48 @@
+package io.smartip.security;
+
+import io.smartip.domain.UserRole;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Principal of JWT-authenticated requests. It carries the user id so ownership checks compare ids (and can be pushed
+ * into queries) instead of loading related entities to compare emails. {@link #getUsername()} stays the email, so
+ * {@code Authentication.getName()} is unchanged.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role) implements UserDetails {
+
+    /** Request attribute holding the principal, set by {@link JwtAuthenticationFilter}. */
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    public boolean isTechnician() {
+        return role == UserRole.TECH;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
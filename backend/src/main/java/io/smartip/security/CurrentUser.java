@@ -0,0 +1,17 @@
+package io.smartip.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated requester into a handler method parameter of type {@link AuthenticatedUser} or
+ * {@link io.smartip.domain.UserRole}. The principal is built once by {@link JwtAuthenticationFilter}, so handlers do
+ * not re-derive the role from granted authorities.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {}
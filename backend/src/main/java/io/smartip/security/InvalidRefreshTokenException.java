@@ -0,0 +1,8 @@
+package io.smartip.security;
+
+class InvalidRefreshTokenException extends RuntimeException {
+
+    InvalidRefreshTokenException() {
+        super("Refresh token is invalid or expired");
+    }
+}
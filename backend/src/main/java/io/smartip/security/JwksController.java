@@ -0,0 +1,27 @@
+package io.smartip.security;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Publishes the token verification keys so gateways and other services can validate access tokens locally. */
+@RestController
+public class JwksController {
+
+    // verifiers refetch on an unknown kid, so a rotation is picked up even while this is cached
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final JwtTokenService jwtTokenService;
+
+    public JwksController(JwtTokenService jwtTokenService) {
+        this.jwtTokenService = jwtTokenService;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(jwtTokenService.jwks());
+    }
+}
@@ -1,6 +1,7 @@
 package io.smartip.security;
 
-import io.jsonwebtoken.Claims;
+import io.smartip.security.VerifiedTokenCache.VerifiedToken;
+import io.smartip.users.UserDirectory;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -12,8 +13,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,14 +23,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    private final JwtTokenService jwtTokenService;
-    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final UserDirectory userDirectory;
     private final JwtProperties jwtProperties;
 
     public JwtAuthenticationFilter(
-            JwtTokenService jwtTokenService, UserDetailsService userDetailsService, JwtProperties jwtProperties) {
-        this.jwtTokenService = jwtTokenService;
-        this.userDetailsService = userDetailsService;
+            VerifiedTokenCache tokenCache,
+            UserDirectory userDirectory,
+            JwtProperties jwtProperties) {
+        this.tokenCache = tokenCache;
+        this.userDirectory = userDirectory;
         this.jwtProperties = jwtProperties;
     }
 
@@ -41,14 +42,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = resolveToken(request);
         if (token != null) {
             try {
-                Claims claims = jwtTokenService.parseToken(token);
-                String email = claims.getSubject();
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                VerifiedToken verified = tokenCache.verify(token);
+                AuthenticatedUser user =
+                        verified.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null
+                                ? resolveUser(verified)
+                                : null;
+                if (user != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
                 }
             } catch (Exception ex) {
                 SecurityContextHolder.clearContext();
@@ -62,6 +66,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser resolveUser(VerifiedToken verified) {
+        if (verified.principal() == null) {
+            // tokens issued before the uid/ver claims existed are resolved by email, without a version to check
+            return userDirectory.findByEmail(verified.subject())
+                    .map(user -> new AuthenticatedUser(user.id(), user.email(), user.role()))
+                    .orElse(null);
+        }
+        UserDirectory.Entry current = userDirectory.findById(verified.userId())
+                .filter(user -> user.tokenVersion() == verified.tokenVersion())
+                .orElse(null);
+        if (current == null) {
+            logger.debug("Rejecting revoked token version {} for user {}", verified.tokenVersion(), verified.userId());
+            return null;
+        }
+        // stateful mode takes the role and email from the directory rather than from the claims
+        return jwtProperties.stateless()
+                ? verified.principal()
+                : new AuthenticatedUser(current.id(), current.email(), current.role());
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
@@ -0,0 +1,181 @@
+package io.smartip.security;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.SecretKey;
+
+/**
+ * Keys used to sign and verify access tokens, resolved by the {@code kid} header. Tokens without a {@code kid} were
+ * signed with the shared HMAC secret. Once an asymmetric key is active they are only accepted until
+ * {@code accept-legacy-hmac-until}, since anyone holding the secret could otherwise keep minting them.
+ */
+class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final String[] KEY_ALGORITHMS = {"RSA", "Ed25519"};
+    // X.509 SubjectPublicKeyInfo prefix of an Ed25519 key; the raw 32-byte key follows
+    private static final int ED25519_PREFIX_LENGTH = 12;
+
+    private final SecretKey hmacKey;
+    private final Instant legacyHmacUntil;
+    private final Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+    private final String activeKid;
+    private final PrivateKey activeKey;
+    private final SignatureAlgorithm activeAlgorithm;
+    private final Map<String, Object> jwks;
+
+    JwtKeyRing(String secret, JwtKeyRingProperties properties) {
+        this.hmacKey = secret == null || secret.isBlank() ? null : Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        List<JwtKeyRingProperties.Key> keys =
+                properties == null || properties.keys() == null ? List.of() : properties.keys();
+        String active = properties == null || properties.activeKid() == null || properties.activeKid().isBlank()
+                ? null
+                : properties.activeKid();
+        PrivateKey signingKey = null;
+        List<Map<String, Object>> published = new ArrayList<>();
+        for (JwtKeyRingProperties.Key key : keys) {
+            PublicKey publicKey = decodePublicKey(key.kid(), key.publicKey());
+            if (verificationKeys.putIfAbsent(key.kid(), publicKey) != null) {
+                throw new IllegalStateException("Duplicate JWT key id " + key.kid());
+            }
+            published.add(toJwk(key.kid(), publicKey));
+            if (key.kid().equals(active)) {
+                if (key.privateKey() == null || key.privateKey().isBlank()) {
+                    throw new IllegalStateException("Active JWT key " + active + " has no private key");
+                }
+                signingKey = decodePrivateKey(key.kid(), key.privateKey());
+            }
+        }
+        if (active != null && signingKey == null) {
+            throw new IllegalStateException("Active JWT key " + active + " is not in the key ring");
+        }
+        if (active == null && hmacKey == null) {
+            throw new IllegalStateException("Configure security.jwt.secret or an active key in security.jwt.key-ring");
+        }
+        this.legacyHmacUntil = active == null ? Instant.MAX : properties.acceptLegacyHmacUntil();
+        this.activeKid = active;
+        this.activeKey = signingKey;
+        this.activeAlgorithm = signingKey == null ? null : algorithmFor(signingKey);
+        this.jwks = Map.of("keys", List.copyOf(published));
+    }
+
+    /** Signs with the active key and names it in the {@code kid} header, or with the HMAC secret and no kid. */
+    JwtBuilder sign(JwtBuilder builder) {
+        if (activeKey == null) {
+            return builder.signWith(hmacKey);
+        }
+        return builder.header().keyId(activeKid).and().signWith(activeKey, activeAlgorithm);
+    }
+
+    /** Public keys as a JWK Set, built once since the ring only changes with a restart. */
+    Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (hmacKey == null || legacyHmacUntil == null || !Instant.now().isBefore(legacyHmacUntil)) {
+                throw new UnsupportedKeyException("Token has no key id");
+            }
+            return hmacKey;
+        }
+        PublicKey key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new UnsupportedKeyException("Unknown key id " + kid);
+        }
+        return key;
+    }
+
+    @Override
+    protected Key doLocate(Header header) {
+        throw new UnsupportedKeyException("Only signed tokens are accepted");
+    }
+
+    private static SignatureAlgorithm algorithmFor(PrivateKey key) {
+        return "RSA".equals(key.getAlgorithm()) ? Jwts.SIG.RS256 : Jwts.SIG.EdDSA;
+    }
+
+    private static Map<String, Object> toJwk(String kid, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (key instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("alg", "RS256");
+            jwk.put("n", base64Url(unsigned(rsa.getModulus())));
+            jwk.put("e", base64Url(unsigned(rsa.getPublicExponent())));
+        } else {
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("alg", "EdDSA");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, ED25519_PREFIX_LENGTH, encoded.length)));
+        }
+        jwk.put("use", "sig");
+        jwk.put("kid", kid);
+        return jwk;
+    }
+
+    private static PublicKey decodePublicKey(String kid, String pem) {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(decodePem(kid, pem));
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePublic(spec);
+            } catch (GeneralSecurityException ex) {
+                // try the next algorithm
+            }
+        }
+        throw new IllegalStateException("Public key of JWT key " + kid + " is neither RSA nor Ed25519");
+    }
+
+    private static PrivateKey decodePrivateKey(String kid, String pem) {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(decodePem(kid, pem));
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+            } catch (GeneralSecurityException ex) {
+                // try the next algorithm
+            }
+        }
+        throw new IllegalStateException("Private key of JWT key " + kid + " is neither RSA nor Ed25519");
+    }
+
+    private static byte[] decodePem(String kid, String pem) {
+        if (kid == null || kid.isBlank() || pem == null || pem.isBlank()) {
+            throw new IllegalStateException("JWT keys need a kid and a public key");
+        }
+        String body = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,18 @@
+package io.smartip.security;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Asymmetric signing keys. {@code activeKid} names the key that signs new tokens; the other keys only verify tokens
+ * issued before a rotation and stay published in the JWKS until those tokens expire. Without an active key, tokens are
+ * signed with the HMAC {@code security.jwt.secret}. With one, HMAC tokens are rejected unless
+ * {@code acceptLegacyHmacUntil} is set and still in the future, which bounds the migration window.
+ */
+@ConfigurationProperties(prefix = "security.jwt.key-ring")
+public record JwtKeyRingProperties(String activeKid, List<Key> keys, Instant acceptLegacyHmacUntil) {
+
+    /** PEM encoded PKCS#8 private key (optional for retired keys) and X.509 public key, RSA or Ed25519. */
+    public record Key(String kid, String privateKey, String publicKey) {}
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public record JwtProperties(
         String secret,
         @DefaultValue("smart-intervention-platform") String issuer,
-        @DefaultValue("PT1H") Duration expiration,
+        @DefaultValue("PT15M") Duration expiration,
         @DefaultValue("sip_jwt") String cookieName,
-        @DefaultValue("false") boolean cookieSecure) {}
+        @DefaultValue("false") boolean cookieSecure,
+        @DefaultValue("true") boolean stateless) {}
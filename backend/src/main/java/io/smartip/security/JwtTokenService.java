@@ -1,44 +1,65 @@
 package io.smartip.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRole;
+import io.smartip.users.UserDirectory;
 import java.time.Instant;
 import java.util.Date;
-import javax.crypto.SecretKey;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtTokenService {
 
+    static final String ROLE_CLAIM = "role";
+    static final String USER_ID_CLAIM = "uid";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final JwtProperties properties;
-    private final SecretKey signingKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
 
-    public JwtTokenService(JwtProperties properties) {
+    public JwtTokenService(JwtProperties properties, JwtKeyRingProperties keyRingProperties) {
         this.properties = properties;
-        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.secret()));
+        this.keyRing = new JwtKeyRing(properties.secret(), keyRingProperties);
+        // immutable and thread-safe once built, so one instance serves every request
+        this.parser = Jwts.parser()
+                .requireIssuer(properties.issuer())
+                .keyLocator(keyRing)
+                .build();
     }
 
     public String generateToken(UserEntity user) {
+        return generateToken(user.getId(), user.getEmail(), user.getRole(), user.getTokenVersion());
+    }
+
+    public String generateToken(UserDirectory.Entry user) {
+        return generateToken(user.id(), user.email(), user.role(), user.tokenVersion());
+    }
+
+    private String generateToken(Long userId, String email, UserRole role, int tokenVersion) {
         Instant now = Instant.now();
-        return Jwts.builder()
-                .subject(user.getEmail())
+        JwtBuilder builder = Jwts.builder()
+                .subject(email)
                 .issuer(properties.issuer())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plus(properties.expiration())))
-                .claim("role", user.getRole().name())
-                .signWith(signingKey)
-                .compact();
+                .claim(ROLE_CLAIM, role.name())
+                .claim(USER_ID_CLAIM, userId)
+                .claim(TOKEN_VERSION_CLAIM, tokenVersion);
+        return keyRing.sign(builder).compact();
+    }
+
+    /** Public verification keys, served as {@code /.well-known/jwks.json}. */
+    public Map<String, Object> jwks() {
+        return keyRing.jwks();
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .requireIssuer(properties.issuer())
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
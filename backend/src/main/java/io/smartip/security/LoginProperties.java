@@ -0,0 +1,13 @@
+package io.smartip.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "security.login")
+public record LoginProperties(
+        @DefaultValue("4") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("30") int ipBurst,
+        @DefaultValue("120") int ipPerMinute,
+        @DefaultValue("5") int accountBurst,
+        @DefaultValue("10") int accountPerMinute) {}
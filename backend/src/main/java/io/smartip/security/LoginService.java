@@ -0,0 +1,82 @@
+package io.smartip.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRepository;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs password verification on a small bounded pool so a burst of logins cannot occupy every servlet thread with
+ * BCrypt. When the queue is full the attempt fails fast with {@link LoginUnavailableException}.
+ */
+@Service
+class LoginService implements DisposableBean {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final LoginThrottle throttle;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    LoginService(
+            AuthenticationManager authenticationManager,
+            UserRepository userRepository,
+            LoginThrottle throttle,
+            LoginProperties properties,
+            MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.userRepository = userRepository;
+        this.throttle = throttle;
+        this.executor = new ThreadPoolExecutor(
+                properties.threads(),
+                properties.threads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("login-"));
+        this.rejected = Counter.builder("security.login.rejected")
+                .description("Login attempts refused because the login queue was full")
+                .register(meterRegistry);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "login");
+    }
+
+    CompletableFuture<UserEntity> login(String email, String password, String clientAddress) {
+        throttle.acquire(clientAddress, email);
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(email, password, clientAddress), executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new LoginUnavailableException();
+        }
+    }
+
+    private UserEntity authenticate(String email, String password, String clientAddress) {
+        Authentication authentication;
+        try {
+            authentication =
+                    authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+        } catch (BadCredentialsException ex) {
+            throttle.recordFailure(clientAddress, email);
+            throw ex;
+        }
+        return userRepository.findByEmailIgnoreCase(authentication.getName()).orElseThrow();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,131 @@
+package io.smartip.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets per client address and per account, checked before any password is hashed. The address bucket is
+ * sized for a depot of technicians behind one NAT and is charged on every attempt. The account bucket stops guessing
+ * against a single user: it is only charged by failed verifications and is kept per account and address, so neither
+ * a user's own successful logins nor junk attempts from another address can lock that user out.
+ */
+@Component
+class LoginThrottle {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(15);
+    private static final long MAXIMUM_KEYS = 100_000;
+
+    private final Ticker ticker;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final Cache<String, TokenBucket> accountBuckets;
+    private final LoginProperties properties;
+    private final Counter addressThrottled;
+    private final Counter accountThrottled;
+
+    @Autowired
+    LoginThrottle(LoginProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    LoginThrottle(LoginProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.addressBuckets = buckets(ticker);
+        this.accountBuckets = buckets(ticker);
+        this.addressThrottled = throttledCounter(meterRegistry, "address");
+        this.accountThrottled = throttledCounter(meterRegistry, "account");
+    }
+
+    /**
+     * Takes a token from the address bucket and checks that the account bucket still has one, or throws
+     * {@link LoginThrottledException} with the wait in seconds.
+     */
+    void acquire(String clientAddress, String email) {
+        long now = ticker.read();
+        TokenBucket address = addressBuckets.get(clientAddress,
+                key -> new TokenBucket(properties.ipBurst(), properties.ipPerMinute(), now));
+        long wait = address.tryConsume(now);
+        if (wait > 0) {
+            addressThrottled.increment();
+            throw new LoginThrottledException(toSeconds(wait));
+        }
+        wait = accountBucket(clientAddress, email, now).waitFor(now);
+        if (wait > 0) {
+            accountThrottled.increment();
+            throw new LoginThrottledException(toSeconds(wait));
+        }
+    }
+
+    /** Charges a failed password verification to the account bucket. */
+    void recordFailure(String clientAddress, String email) {
+        long now = ticker.read();
+        accountBucket(clientAddress, email, now).tryConsume(now);
+    }
+
+    private TokenBucket accountBucket(String clientAddress, String email, long now) {
+        return accountBuckets.get(email.toLowerCase(Locale.ROOT) + '|' + clientAddress,
+                key -> new TokenBucket(properties.accountBurst(), properties.accountPerMinute(), now));
+    }
+
+    private static Cache<String, TokenBucket> buckets(Ticker ticker) {
+        // an idle bucket has refilled long before it expires, so dropping it loses nothing
+        return Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_KEYS)
+                .expireAfterAccess(IDLE_EXPIRY)
+                .ticker(ticker)
+                .build();
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("security.login.throttled")
+                .description("Login attempts rejected before authentication")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, int perMinute, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        /** Returns 0 when a token was taken, otherwise the nanoseconds until one is available. */
+        synchronized long tryConsume(long now) {
+            long wait = waitFor(now);
+            if (wait == 0) {
+                tokens -= 1;
+            }
+            return wait;
+        }
+
+        /** Returns 0 when a token is available, otherwise the nanoseconds until one is; takes nothing. */
+        synchronized long waitFor(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
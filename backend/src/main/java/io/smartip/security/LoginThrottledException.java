@@ -0,0 +1,15 @@
+package io.smartip.security;
+
+class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    LoginThrottledException(long retryAfterSeconds) {
+        super("Too many login attempts, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
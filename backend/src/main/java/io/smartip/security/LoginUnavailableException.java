@@ -0,0 +1,8 @@
+package io.smartip.security;
+
+class LoginUnavailableException extends RuntimeException {
+
+    LoginUnavailableException() {
+        super("Login capacity exhausted, retry later");
+    }
+}
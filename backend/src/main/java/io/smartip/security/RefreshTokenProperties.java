@@ -0,0 +1,12 @@
+package io.smartip.security;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "security.refresh")
+public record RefreshTokenProperties(
+        @DefaultValue("P7D") Duration idleTimeout,
+        @DefaultValue("P30D") Duration maxLifetime,
+        @DefaultValue("sip_refresh") String cookieName,
+        @DefaultValue("PT10S") Duration reuseGracePeriod) {}
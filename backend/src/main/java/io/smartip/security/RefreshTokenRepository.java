@@ -0,0 +1,106 @@
+package io.smartip.security;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class RefreshTokenRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO refresh_tokens (token_hash, family_id, user_id, token_version, expires_at, session_expires_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String LOCK_BY_HASH_SQL = """
+            SELECT id, family_id, user_id, token_version, expires_at, session_expires_at, used_at, sibling_issued_at,
+                   revoked_at
+            FROM refresh_tokens
+            WHERE token_hash = ?
+            FOR UPDATE
+            """;
+
+    private static final String REVOKE_FAMILY_SQL = """
+            UPDATE refresh_tokens
+            SET revoked_at = now()
+            WHERE family_id = ?
+              AND revoked_at IS NULL
+            """;
+
+    private static final String REVOKE_FAMILY_BY_HASH_SQL = """
+            UPDATE refresh_tokens
+            SET revoked_at = now()
+            WHERE family_id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ?)
+              AND revoked_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    RefreshTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void insert(String tokenHash, UUID familyId, long userId, int tokenVersion, Instant expiresAt,
+            Instant sessionExpiresAt) {
+        jdbcTemplate.update(INSERT_SQL, tokenHash, familyId, userId, tokenVersion, Timestamp.from(expiresAt),
+                Timestamp.from(sessionExpiresAt));
+    }
+
+    Optional<StoredRefreshToken> lockByHash(String tokenHash) {
+        return jdbcTemplate.query(LOCK_BY_HASH_SQL, this::mapToken, tokenHash).stream().findFirst();
+    }
+
+    void markUsed(long id, Instant usedAt) {
+        jdbcTemplate.update("UPDATE refresh_tokens SET used_at = ? WHERE id = ?", Timestamp.from(usedAt), id);
+    }
+
+    void markSiblingIssued(long id, Instant issuedAt) {
+        jdbcTemplate.update(
+                "UPDATE refresh_tokens SET sibling_issued_at = ? WHERE id = ?", Timestamp.from(issuedAt), id);
+    }
+
+    void revokeFamily(UUID familyId) {
+        jdbcTemplate.update(REVOKE_FAMILY_SQL, familyId);
+    }
+
+    void revokeFamilyOf(String tokenHash) {
+        jdbcTemplate.update(REVOKE_FAMILY_BY_HASH_SQL, tokenHash);
+    }
+
+    int deleteExpired(Instant before) {
+        return jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at < ?", Timestamp.from(before));
+    }
+
+    private StoredRefreshToken mapToken(ResultSet rs, int rowNum) throws SQLException {
+        return new StoredRefreshToken(
+                rs.getLong("id"),
+                rs.getObject("family_id", UUID.class),
+                rs.getLong("user_id"),
+                rs.getInt("token_version"),
+                rs.getTimestamp("expires_at").toInstant(),
+                rs.getTimestamp("session_expires_at").toInstant(),
+                toInstant(rs.getTimestamp("used_at")),
+                toInstant(rs.getTimestamp("sibling_issued_at")),
+                toInstant(rs.getTimestamp("revoked_at")));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    record StoredRefreshToken(
+            long id,
+            UUID familyId,
+            long userId,
+            int tokenVersion,
+            Instant expiresAt,
+            Instant sessionExpiresAt,
+            Instant usedAt,
+            Instant siblingIssuedAt,
+            Instant revokedAt) {}
+}
@@ -0,0 +1,162 @@
+package io.smartip.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smartip.scheduling.ClusterSingleton;
+import io.smartip.security.RefreshTokenRepository.StoredRefreshToken;
+import io.smartip.users.UserDirectory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Issues and rotates opaque refresh tokens so access tokens can stay short-lived without sending users back through
+ * BCrypt. Each refresh consumes the presented token and returns its successor; presenting a consumed token again
+ * means it was copied, so the whole session (token family) is revoked. Within {@code reuse-grace-period} of its
+ * rotation a consumed token is still exchanged, once, for a sibling in the same family: browser tabs share the refresh
+ * cookie and refresh independently when their access tokens expire together. A token also stops working once the
+ * user's token version moves on (password, role or email change) and at the session's absolute lifetime.
+ */
+@Service
+class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository repository;
+    private final UserDirectory userDirectory;
+    private final RefreshTokenProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    RefreshTokenService(
+            RefreshTokenRepository repository,
+            UserDirectory userDirectory,
+            RefreshTokenProperties properties,
+            MeterRegistry meterRegistry,
+            ObjectProvider<Clock> clockProvider) {
+        this(repository, userDirectory, properties, meterRegistry, clockProvider.getIfAvailable(Clock::systemUTC));
+    }
+
+    RefreshTokenService(
+            RefreshTokenRepository repository,
+            UserDirectory userDirectory,
+            RefreshTokenProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.repository = repository;
+        this.userDirectory = userDirectory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /** Starts a new session for a user who just logged in. */
+    @Transactional
+    public IssuedRefreshToken issue(long userId, int tokenVersion) {
+        Instant now = clock.instant();
+        return store(UUID.randomUUID(), userId, tokenVersion, now, now.plus(properties.maxLifetime()));
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String refreshToken) {
+        StoredRefreshToken stored = repository.lockByHash(hash(refreshToken))
+                .orElseThrow(() -> reject("unknown"));
+        if (stored.revokedAt() != null) {
+            throw reject("revoked");
+        }
+        Instant now = clock.instant();
+        boolean concurrent = false;
+        if (stored.usedAt() != null) {
+            concurrent = stored.siblingIssuedAt() == null
+                    && now.isBefore(stored.usedAt().plus(properties.reuseGracePeriod()));
+            if (!concurrent) {
+                LOGGER.warn("Refresh token of user {} was presented twice, revoking the session", stored.userId());
+                repository.revokeFamily(stored.familyId());
+                throw reject("reused");
+            }
+        }
+        if (!now.isBefore(stored.expiresAt())) {
+            throw reject("expired");
+        }
+        UserDirectory.Entry user = userDirectory.findById(stored.userId())
+                .filter(entry -> entry.tokenVersion() == stored.tokenVersion())
+                .orElse(null);
+        if (user == null) {
+            repository.revokeFamily(stored.familyId());
+            throw reject("stale");
+        }
+        if (concurrent) {
+            repository.markSiblingIssued(stored.id(), now);
+        } else {
+            repository.markUsed(stored.id(), now);
+        }
+        IssuedRefreshToken next = store(stored.familyId(), user.id(), user.tokenVersion(), now,
+                stored.sessionExpiresAt());
+        record(concurrent ? "concurrent" : "rotated");
+        return new Rotation(user, next);
+    }
+
+    /** Ends the session the token belongs to; unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String refreshToken) {
+        repository.revokeFamilyOf(hash(refreshToken));
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh.purge-interval:3600000}")
+    @ClusterSingleton(value = "refresh-token-purge", minInterval = "${security.refresh.purge-interval:3600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(clock.instant());
+        if (purged > 0) {
+            LOGGER.debug("Purged {} expired refresh token(s)", purged);
+        }
+    }
+
+    private IssuedRefreshToken store(UUID familyId, long userId, int tokenVersion, Instant now,
+            Instant sessionExpiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant idleExpiry = now.plus(properties.idleTimeout());
+        Instant expiresAt = idleExpiry.isBefore(sessionExpiresAt) ? idleExpiry : sessionExpiresAt;
+        repository.insert(hash(token), familyId, userId, tokenVersion, expiresAt, sessionExpiresAt);
+        return new IssuedRefreshToken(token, Duration.between(now, expiresAt));
+    }
+
+    private InvalidRefreshTokenException reject(String outcome) {
+        record(outcome);
+        return new InvalidRefreshTokenException();
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("security.refresh.rotations", "outcome", outcome).increment();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    record IssuedRefreshToken(String value, Duration timeToLive) {}
+
+    record Rotation(UserDirectory.Entry user, IssuedRefreshToken refreshToken) {}
+}
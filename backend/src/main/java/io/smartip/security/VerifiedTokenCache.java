@@ -0,0 +1,88 @@
+package io.smartip.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.smartip.domain.UserRole;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers tokens whose signature and claims were already verified, keyed by their SHA-256 hash so raw tokens are
+ * never held, until the token's own expiry. Revocation is still checked per request by the filter.
+ */
+@Component
+class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt-verified-tokens";
+
+    private final JwtTokenService jwtTokenService;
+    private final Cache<String, VerifiedToken> tokens;
+    private final Timer verificationTimer;
+
+    VerifiedTokenCache(
+            JwtTokenService jwtTokenService,
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.token-cache-size:10000}") long maximumSize) {
+        this.jwtTokenService = jwtTokenService;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String key, VerifiedToken token) -> timeToLive(token)))
+                .recordStats()
+                .build();
+        this.verificationTimer = Timer.builder("security.jwt.verification")
+                .description("Signature and claim verification of tokens missing from the cache")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, CACHE_NAME);
+    }
+
+    /** Returns the verified token, or throws the parser's {@code JwtException}; failures are never cached. */
+    VerifiedToken verify(String token) {
+        return tokens.get(hash(token), key -> verificationTimer.record(
+                () -> VerifiedToken.from(jwtTokenService.parseToken(token))));
+    }
+
+    private static Duration timeToLive(VerifiedToken token) {
+        Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Claims the filter needs. {@code principal} is resolved once from the claims, and is {@code null} for tokens
+     * issued without the {@code uid}/{@code ver} claims.
+     */
+    record VerifiedToken(
+            String subject, Long userId, Integer tokenVersion, AuthenticatedUser principal, Instant expiresAt) {
+
+        static VerifiedToken from(Claims claims) {
+            Long userId = claims.get(JwtTokenService.USER_ID_CLAIM, Long.class);
+            Integer tokenVersion = claims.get(JwtTokenService.TOKEN_VERSION_CLAIM, Integer.class);
+            String role = claims.get(JwtTokenService.ROLE_CLAIM, String.class);
+            AuthenticatedUser principal =
+                    claims.getSubject() != null && userId != null && tokenVersion != null && role != null
+                            ? new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role))
+                            : null;
+            return new VerifiedToken(
+                    claims.getSubject(), userId, tokenVersion, principal, claims.getExpiration().toInstant());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.smartip.users;
+
+/**
+ * Published by {@link UserService} whenever a user is created, updated or deleted, so the local
+ * {@link UserDirectory} is current as soon as the transaction commits.
+ */
+public record UserChangedEvent(Long userId) {}
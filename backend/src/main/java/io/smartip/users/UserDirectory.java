@@ -0,0 +1,264 @@
+package io.smartip.users;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.smartip.domain.UserRole;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory view of the users table (id, email, full name, role, token version) for request-time lookups. Local
+ * changes apply when their transaction commits; changes from other nodes or outside the application arrive through
+ * the {@code user_directory} notification channel, fed by a trigger on {@code users}. The whole table is reloaded
+ * whenever the listener (re)connects, so notifications missed while disconnected are not lost. Lookups that miss
+ * fall back to the database without holding any lock; users missing there too are remembered for a short while.
+ * An entry is never replaced by one with a lower token version, so a stale snapshot cannot revive revoked tokens.
+ */
+@Component
+public class UserDirectory implements SmartLifecycle {
+
+    static final String CHANNEL = "user_directory";
+    static final String RELOAD_ALL = "*";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserDirectory.class);
+    private static final String SELECT_USERS = "SELECT id, email, full_name, role, token_version FROM users";
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getLong("id"),
+            rs.getString("email"),
+            rs.getString("full_name"),
+            UserRole.valueOf(rs.getString("role")),
+            rs.getInt("token_version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final long reconnectBackoffMs;
+    private final ConcurrentMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> byEmail = new ConcurrentHashMap<>();
+    // ids and normalized emails with no matching user; only guards the database fallback
+    private final Cache<Object, Boolean> misses;
+    private final AtomicLong changes = new AtomicLong();
+    // guards updates spanning both maps; never held across a query
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public UserDirectory(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            @Value("${users.directory.reconnect-backoff:5000}") long reconnectBackoffMs,
+            @Value("${users.directory.miss-ttl:PT10S}") Duration missTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectBackoffMs = reconnectBackoffMs;
+        this.misses = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(missTtl).build();
+    }
+
+    public Optional<Entry> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String key = normalize(email);
+        Entry entry = byEmail.get(key);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        if (misses.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+        return load(SELECT_USERS + " WHERE lower(email) = ?", key);
+    }
+
+    public Optional<Entry> findById(long id) {
+        Entry entry = byId.get(id);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        if (misses.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+        return load(SELECT_USERS + " WHERE id = ?", id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onUserChanged(UserChangedEvent event) {
+        reload(event.userId());
+    }
+
+    void handleNotification(String payload) {
+        if (RELOAD_ALL.equals(payload)) {
+            reloadAll();
+            return;
+        }
+        try {
+            reload(Long.parseLong(payload));
+        } catch (NumberFormatException ex) {
+            LOGGER.warn("Ignoring malformed {} notification '{}'", CHANNEL, payload);
+        }
+    }
+
+    void reload(long id) {
+        misses.invalidate(id);
+        Optional<Entry> current = load(SELECT_USERS + " WHERE id = ?", id);
+        if (current.isEmpty()) {
+            remove(byId.get(id));
+        }
+    }
+
+    void reloadAll() {
+        Map<Long, Entry> loaded = new HashMap<>();
+        for (Entry entry : jdbcTemplate.query(SELECT_USERS, ENTRY_MAPPER)) {
+            loaded.put(entry.id(), entry);
+        }
+        misses.invalidateAll();
+        loaded.values().forEach(this::put);
+        byId.values().stream().filter(entry -> !loaded.containsKey(entry.id())).toList().forEach(this::remove);
+        LOGGER.debug("User directory reloaded with {} users", loaded.size());
+    }
+
+    private Optional<Entry> load(String sql, Object key) {
+        long observed = changes.get();
+        List<Entry> rows = jdbcTemplate.query(sql, ENTRY_MAPPER, key);
+        if (rows.isEmpty()) {
+            // a user added while we were querying must not be hidden behind the miss
+            if (changes.get() == observed) {
+                misses.put(key, Boolean.TRUE);
+            }
+            return Optional.empty();
+        }
+        return Optional.of(put(rows.get(0)));
+    }
+
+    /** Stores the entry unless a newer token version is already known, and returns the entry that is kept. */
+    private Entry put(Entry entry) {
+        updateLock.lock();
+        try {
+            Entry previous = byId.get(entry.id());
+            if (previous != null && previous.tokenVersion() > entry.tokenVersion()) {
+                return previous;
+            }
+            byId.put(entry.id(), entry);
+            if (previous != null && !normalize(previous.email()).equals(normalize(entry.email()))) {
+                byEmail.remove(normalize(previous.email()), previous);
+            }
+            byEmail.put(normalize(entry.email()), entry);
+            changes.incrementAndGet();
+        } finally {
+            updateLock.unlock();
+        }
+        misses.invalidate(entry.id());
+        misses.invalidate(normalize(entry.email()));
+        return entry;
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            byId.remove(entry.id(), entry);
+            byEmail.remove(normalize(entry.email()), entry);
+            changes.incrementAndGet();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "user-directory-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                reloadAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(10_000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception ex) {
+                if (running) {
+                    LOGGER.warn("User directory listener interrupted, reconnecting: {}", ex.getMessage());
+                    sleep(reconnectBackoffMs);
+                }
+            }
+        }
+    }
+
+    private Connection openListenerConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        PGProperty.USER.set(connectionProperties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(connectionProperties, dataSourceProperties.determinePassword());
+        PGProperty.APPLICATION_NAME.set(connectionProperties, "user-directory-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public record Entry(Long id, String email, String fullName, UserRole role, int tokenVersion) {}
+}
@@ -7,6 +7,7 @@ import io.smartip.domain.UserRepository;
 import io.smartip.domain.UserRole;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,11 +22,17 @@ public class UserService {
     private final UserRepository userRepository;
     private final InterventionRepository interventionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, InterventionRepository interventionRepository, PasswordEncoder passwordEncoder) {
+    public UserService(
+            UserRepository userRepository,
+            InterventionRepository interventionRepository,
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.interventionRepository = interventionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -67,7 +74,9 @@ public class UserService {
         entity.setFullName(command.fullName());
         entity.setRole(command.role());
         entity.setPasswordHash(passwordEncoder.encode(command.password()));
-        return userRepository.save(entity);
+        UserEntity saved = userRepository.save(entity);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -77,11 +86,20 @@ public class UserService {
             throw new EmailAlreadyExistsException(command.email());
         }
 
+        // tokens carry the email and role, so changing either (or the password) must invalidate them
+        boolean revokeTokens = !entity.getEmail().equalsIgnoreCase(command.email())
+                || entity.getRole() != command.role()
+                || command.optionalPassword().isPresent();
         entity.setEmail(command.email());
         entity.setFullName(command.fullName());
         entity.setRole(command.role());
         command.optionalPassword().ifPresent(password -> entity.setPasswordHash(passwordEncoder.encode(password)));
-        return userRepository.save(entity);
+        if (revokeTokens) {
+            entity.setTokenVersion(entity.getTokenVersion() + 1);
+        }
+        UserEntity saved = userRepository.save(entity);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
     }
 
     @Transactional
@@ -95,6 +113,7 @@ public class UserService {
             interventionRepository.save(intervention);
         }
         userRepository.delete(entity);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Transactional
@@ -105,7 +124,9 @@ public class UserService {
             throw new BadCredentialsException("Invalid credentials");
         }
         user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     }
 
     public record CreateUserCommand(String email, String fullName, String password, UserRole role) {}
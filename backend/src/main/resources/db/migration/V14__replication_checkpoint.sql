@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS analytics.replication_checkpoint (
+    slot_name VARCHAR(63) PRIMARY KEY,
+    confirmed_lsn PG_LSN NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- per-technician recomputation (replication consumer, technician-scoped dashboards)
+CREATE INDEX IF NOT EXISTS idx_interventions_technician_id ON interventions (technician_id);
@@ -0,0 +1,9 @@
+-- Viewport queries: point(lon, lat) <@ box(...) on the map marker listing.
+CREATE INDEX IF NOT EXISTS idx_intervention_geo_view_point
+    ON analytics.intervention_geo_view USING gist (point(longitude::float8, latitude::float8));
+
+-- Keyset pagination: ORDER BY updated_at DESC, intervention_id DESC with (updated_at, intervention_id) < (?, ?).
+CREATE INDEX IF NOT EXISTS idx_intervention_geo_view_keyset
+    ON analytics.intervention_geo_view (updated_at DESC, intervention_id DESC);
+
+DROP INDEX IF EXISTS analytics.idx_intervention_geo_view_updated_at;
@@ -0,0 +1,75 @@
+-- Per-technician counterpart of analytics.intervention_daily_metrics, read by technician-scoped dashboards.
+CREATE TABLE IF NOT EXISTS analytics.intervention_daily_technician_metrics (
+    technician_id BIGINT NOT NULL,
+    metric_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    avg_completion_seconds NUMERIC(12, 2),
+    validation_ratio NUMERIC(5, 2),
+    last_refreshed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT (now() AT TIME ZONE 'UTC'),
+    CONSTRAINT pk_intervention_daily_technician_metrics PRIMARY KEY (technician_id, metric_date, status),
+    CONSTRAINT fk_intervention_daily_technician_metrics_technician FOREIGN KEY (technician_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT chk_intervention_daily_technician_metrics_status CHECK (status IN ('SCHEDULED', 'IN_PROGRESS', 'COMPLETED', 'VALIDATED'))
+);
+
+-- Refreshes and the replication consumer replace whole days across technicians.
+CREATE INDEX IF NOT EXISTS idx_intervention_daily_technician_metrics_date
+    ON analytics.intervention_daily_technician_metrics (metric_date);
+
+-- Backfill the full history once; the scheduled refresh only rewrites its recent window afterwards.
+WITH base AS (
+    SELECT
+        technician_id,
+        (planned_at AT TIME ZONE 'UTC')::date AS metric_date,
+        status,
+        CASE
+            WHEN completed_at IS NOT NULL AND started_at IS NOT NULL
+                THEN EXTRACT(EPOCH FROM completed_at - started_at)
+            ELSE NULL
+        END AS completion_seconds
+    FROM interventions
+    WHERE technician_id IS NOT NULL
+),
+aggregated AS (
+    SELECT
+        technician_id,
+        metric_date,
+        status,
+        COUNT(*) AS total_count,
+        AVG(completion_seconds) AS avg_completion_seconds
+    FROM base
+    GROUP BY technician_id, metric_date, status
+),
+daily_completed AS (
+    SELECT
+        technician_id,
+        metric_date,
+        SUM(CASE WHEN status IN ('COMPLETED', 'VALIDATED') THEN total_count ELSE 0 END) AS completed_total,
+        SUM(CASE WHEN status = 'VALIDATED' THEN total_count ELSE 0 END) AS validated_total
+    FROM aggregated
+    GROUP BY technician_id, metric_date
+)
+INSERT INTO analytics.intervention_daily_technician_metrics (
+    technician_id,
+    metric_date,
+    status,
+    total_count,
+    avg_completion_seconds,
+    validation_ratio,
+    last_refreshed_at)
+SELECT
+    a.technician_id,
+    a.metric_date,
+    a.status,
+    a.total_count,
+    a.avg_completion_seconds,
+    CASE
+        WHEN a.status = 'VALIDATED' AND dc.completed_total > 0
+            THEN (dc.validated_total::numeric / dc.completed_total::numeric) * 100
+        ELSE NULL
+    END,
+    now() AT TIME ZONE 'UTC'
+FROM aggregated a
+JOIN daily_completed dc
+  ON dc.technician_id = a.technician_id AND dc.metric_date = a.metric_date
+ON CONFLICT (technician_id, metric_date, status) DO NOTHING;
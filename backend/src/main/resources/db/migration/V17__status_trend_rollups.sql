@@ -0,0 +1,43 @@
+-- Weekly and monthly status counts rolled up from the daily metric tables, for long /status-trends ranges.
+-- technician_id = 0 holds the rollup of analytics.intervention_daily_metrics (all interventions).
+CREATE TABLE IF NOT EXISTS analytics.intervention_weekly_metrics (
+    technician_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    last_refreshed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT (now() AT TIME ZONE 'UTC'),
+    CONSTRAINT pk_intervention_weekly_metrics PRIMARY KEY (technician_id, week_start, status),
+    CONSTRAINT chk_intervention_weekly_metrics_status CHECK (status IN ('SCHEDULED', 'IN_PROGRESS', 'COMPLETED', 'VALIDATED'))
+);
+
+CREATE TABLE IF NOT EXISTS analytics.intervention_monthly_metrics (
+    technician_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    last_refreshed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT (now() AT TIME ZONE 'UTC'),
+    CONSTRAINT pk_intervention_monthly_metrics PRIMARY KEY (technician_id, month_start, status),
+    CONSTRAINT chk_intervention_monthly_metrics_status CHECK (status IN ('SCHEDULED', 'IN_PROGRESS', 'COMPLETED', 'VALIDATED'))
+);
+
+-- Rollups replace whole periods across technicians.
+CREATE INDEX IF NOT EXISTS idx_intervention_weekly_metrics_week ON analytics.intervention_weekly_metrics (week_start);
+CREATE INDEX IF NOT EXISTS idx_intervention_monthly_metrics_month ON analytics.intervention_monthly_metrics (month_start);
+
+INSERT INTO analytics.intervention_weekly_metrics (technician_id, week_start, status, total_count)
+SELECT 0, date_trunc('week', metric_date)::date, status, SUM(total_count)
+FROM analytics.intervention_daily_metrics
+GROUP BY date_trunc('week', metric_date)::date, status
+UNION ALL
+SELECT technician_id, date_trunc('week', metric_date)::date, status, SUM(total_count)
+FROM analytics.intervention_daily_technician_metrics
+GROUP BY technician_id, date_trunc('week', metric_date)::date, status;
+
+INSERT INTO analytics.intervention_monthly_metrics (technician_id, month_start, status, total_count)
+SELECT 0, date_trunc('month', metric_date)::date, status, SUM(total_count)
+FROM analytics.intervention_daily_metrics
+GROUP BY date_trunc('month', metric_date)::date, status
+UNION ALL
+SELECT technician_id, date_trunc('month', metric_date)::date, status, SUM(total_count)
+FROM analytics.intervention_daily_technician_metrics
+GROUP BY technician_id, date_trunc('month', metric_date)::date, status;
@@ -0,0 +1,13 @@
+-- The analytics refresh merges changed rows in place instead of DELETE + INSERT. Leave free space on every page so
+-- those updates can stay HOT (same page, no index maintenance when only non-indexed columns change), and vacuum
+-- the small, frequently rewritten tables on a fixed number of dead rows rather than a fraction of the table.
+-- fillfactor applies to pages written from now on; existing pages fill up as rows are updated.
+ALTER TABLE analytics.intervention_technician_load SET (
+    fillfactor = 70,
+    autovacuum_vacuum_scale_factor = 0,
+    autovacuum_vacuum_threshold = 200);
+
+ALTER TABLE analytics.intervention_geo_view SET (
+    fillfactor = 80,
+    autovacuum_vacuum_scale_factor = 0.05,
+    autovacuum_analyze_scale_factor = 0.05);
@@ -0,0 +1,3 @@
+-- Embedded in every JWT as the "ver" claim. Bumping it (role, email or password change) revokes the user's tokens
+-- without a per-request lookup: nodes keep the current versions in memory.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,25 @@
+-- Every node keeps an in-memory directory of users (UserDirectory) and listens on this channel. The payload is the
+-- changed user id, or '*' when the table was truncated. Notifications are delivered on commit, and the trigger also
+-- covers changes made outside the application (migrations, manual SQL).
+CREATE OR REPLACE FUNCTION notify_user_directory() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        PERFORM pg_notify('user_directory', '*');
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('user_directory', OLD.id::text);
+    ELSE
+        PERFORM pg_notify('user_directory', NEW.id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_notify_directory ON users;
+CREATE TRIGGER trg_users_notify_directory
+    AFTER INSERT OR UPDATE OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_user_directory();
+
+DROP TRIGGER IF EXISTS trg_users_truncate_notify_directory ON users;
+CREATE TRIGGER trg_users_truncate_notify_directory
+    AFTER TRUNCATE ON users
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_user_directory();
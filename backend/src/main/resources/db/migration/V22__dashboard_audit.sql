@@ -0,0 +1,36 @@
+CREATE SCHEMA IF NOT EXISTS audit;
+
+-- One row per dashboard request, written asynchronously in batches by DashboardAuditLog. Monthly range partitions
+-- keep inserts on a small hot partition and let retention drop whole months; rows outside the prepared partitions
+-- land in the default partition instead of failing the batch.
+CREATE TABLE IF NOT EXISTS audit.dashboard_access (
+    occurred_at TIMESTAMPTZ NOT NULL,
+    user_id BIGINT,
+    role VARCHAR(20),
+    method VARCHAR(8) NOT NULL,
+    path VARCHAR(255) NOT NULL,
+    filters JSONB,
+    status SMALLINT NOT NULL
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE IF NOT EXISTS audit.dashboard_access_default PARTITION OF audit.dashboard_access DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_dashboard_access_occurred_at ON audit.dashboard_access (occurred_at);
+CREATE INDEX IF NOT EXISTS idx_dashboard_access_user ON audit.dashboard_access (user_id, occurred_at);
+
+DO
+$$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..1 LOOP
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS audit.dashboard_access_%s PARTITION OF audit.dashboard_access
+                 FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,7 @@
+-- Last start of every @ClusterSingleton job with a minimum interval. The advisory lock only keeps runs from
+-- overlapping; a node runs the job only if it manages to move last_run_at forward, so replicas whose schedules tick
+-- at different offsets do not repeat a run that another node just made.
+CREATE TABLE IF NOT EXISTS scheduler_job_lease (
+    job VARCHAR(100) PRIMARY KEY,
+    last_run_at TIMESTAMPTZ NOT NULL
+);
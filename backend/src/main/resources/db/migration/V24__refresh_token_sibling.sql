@@ -0,0 +1,3 @@
+-- A consumed refresh token presented again within the reuse grace period is exchanged for one sibling only; this
+-- records when that sibling was issued, so a further presentation revokes the family like any other reuse.
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS sibling_issued_at TIMESTAMPTZ;
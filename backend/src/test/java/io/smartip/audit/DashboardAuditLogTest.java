@@ -0,0 +1,98 @@
+package io.smartip.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smartip.domain.UserRole;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAuditLogTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-20T08:00:00Z");
+
+    @Mock
+    private DashboardAuditRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DashboardAuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        auditLog = new DashboardAuditLog(repository, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC), 4, 3, 12);
+    }
+
+    @Test
+    void overflowIsDroppedAndFlushWritesInBatches() {
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> batchSizes.add(invocation.<List<?>>getArgument(0).size()))
+                .when(repository).insertBatch(anyList());
+        for (int i = 0; i < 5; i++) {
+            auditLog.record(event());
+        }
+
+        assertThat(auditLog.flush()).isEqualTo(4);
+
+        assertThat(batchSizes).containsExactly(3, 1);
+        assertThat(count("recorded")).isEqualTo(4);
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(count("written")).isEqualTo(4);
+    }
+
+    @Test
+    void failedBatchIsCountedAndDoesNotBlockTheNextOne() {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .doNothing()
+                .when(repository).insertBatch(anyList());
+        for (int i = 0; i < 4; i++) {
+            auditLog.record(event());
+        }
+
+        assertThat(auditLog.flush()).isEqualTo(1);
+
+        verify(repository, times(2)).insertBatch(anyList());
+        assertThat(count("failed")).isEqualTo(3);
+        assertThat(meterRegistry.get("audit.dashboard.buffer.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void partitionsAreCreatedAheadAndDroppedAfterRetention() {
+        when(repository.listPartitions()).thenReturn(List.of(
+                YearMonth.of(2024, 10), YearMonth.of(2024, 11), YearMonth.of(2025, 10), YearMonth.of(2025, 11)));
+
+        auditLog.maintainPartitions();
+
+        verify(repository).createPartition(YearMonth.of(2025, 10));
+        verify(repository).createPartition(YearMonth.of(2025, 11));
+        verify(repository).dropPartition(YearMonth.of(2024, 10));
+        verify(repository, times(1)).dropPartition(any());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("audit.dashboard.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static DashboardAccessEvent event() {
+        return new DashboardAccessEvent(
+                NOW, 7L, UserRole.TECH, "GET", "/api/dashboard/summary", Map.of("date", List.of("2025-10-20")), 200);
+    }
+}
@@ -0,0 +1,54 @@
+package io.smartip.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void requestBeyondThePermitsIsRejectedAfterTheTimeout() throws Exception {
+        RequestConcurrencyLimitFilter filter =
+                new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10), meterRegistry);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // the outer request holds the only permit while the nested one arrives
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(request(), rejected, new MockFilterChain()));
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.counter("http.server.requests.limited").count()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsReleasedWhenTheChainFails() throws Exception {
+        RequestConcurrencyLimitFilter filter =
+                new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10), meterRegistry);
+        try {
+            filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+                throw new IllegalStateException("boom");
+            });
+        } catch (IllegalStateException expected) {
+            // the permit must come back regardless
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("http.server.requests.permits.available").gauge().value()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/interventions");
+    }
+}
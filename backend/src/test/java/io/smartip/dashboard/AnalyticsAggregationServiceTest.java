@@ -0,0 +1,138 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.dashboard.AnalyticsAggregationService.DayRange;
+import io.smartip.dashboard.AnalyticsAggregationService.IdRange;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsAggregationServiceTest {
+
+    // late evening UTC is already the next day in most local zones
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-10-07T23:30:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DashboardCacheEvictor cacheEvictor;
+
+    @Mock
+    private DashboardForecastService forecastService;
+
+    @Mock
+    private StatusTrendRollups rollups;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnalyticsAggregationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AnalyticsAggregationService(
+                jdbcTemplate, cacheEvictor, forecastService, rollups, transactionManager, CLOCK, 14, 4, false);
+    }
+
+    @Test
+    void daysAreSplitIntoContiguousRanges() {
+        LocalDate from = LocalDate.of(2025, 10, 1);
+
+        List<DayRange> ranges = DayRange.split(from, from.plusDays(13), 4);
+
+        assertThat(ranges).containsExactly(
+                new DayRange(from, from.plusDays(3)),
+                new DayRange(from.plusDays(4), from.plusDays(7)),
+                new DayRange(from.plusDays(8), from.plusDays(11)),
+                new DayRange(from.plusDays(12), from.plusDays(13)));
+        assertThat(DayRange.split(from, from, 4)).containsExactly(new DayRange(from, from));
+    }
+
+    @Test
+    void idShardsCoverTheWholeKeySpace() {
+        assertThat(IdRange.split(1L, 100L, 4)).containsExactly(
+                new IdRange(Long.MIN_VALUE, 25),
+                new IdRange(26, 50),
+                new IdRange(51, 75),
+                new IdRange(76, Long.MAX_VALUE));
+        assertThat(IdRange.split(5L, 6L, 4)).containsExactly(
+                new IdRange(Long.MIN_VALUE, 5), new IdRange(6, Long.MAX_VALUE));
+        assertThat(IdRange.split(null, null, 4)).containsExactly(new IdRange(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void parallelismLeavesTheLockConnectionAndOneSpare() {
+        assertThat(AnalyticsAggregationService.connectionBudget(4, 5)).isEqualTo(3);
+        assertThat(AnalyticsAggregationService.connectionBudget(4, 10)).isEqualTo(4);
+        assertThat(AnalyticsAggregationService.connectionBudget(4, 2)).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void everyUnitCommitsSeparatelyBeforeCachesAreRebuilt() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(IdRange.split(1L, 100L, 4));
+
+        service.refreshAnalytics();
+
+        // 4 day ranges, the rollup, 4 technician shards and 4 intervention shards
+        verify(transactionManager, times(13)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager, times(13)).commit(any());
+        verify(jdbcTemplate, times(4)).execute(startsWith("CREATE TEMP TABLE technician_load_staging"));
+        verify(jdbcTemplate, times(4)).execute(startsWith("CREATE TEMP TABLE geo_view_staging"));
+        InOrder order = inOrder(rollups, forecastService, cacheEvictor, jdbcTemplate);
+        LocalDate today = LocalDate.of(2025, 10, 7);
+        order.verify(rollups).rollup(today.minusDays(13), today, CLOCK.instant());
+        order.verify(forecastService).rebuildAll(today.minusDays(1));
+        order.verify(cacheEvictor).evictAll();
+        order.verify(jdbcTemplate).query(
+                eq("SELECT pg_notify(?, ?)"),
+                any(ResultSetExtractor.class),
+                eq(AnalyticsRefreshListener.CHANNEL),
+                eq("2025-10-07"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedUnitStillEvictsCachesAndSurfacesTheCause() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(IdRange.split(1L, 100L, 4));
+        // the other units run against the same mock, so only the geo staging statement fails
+        lenient().doThrow(new QueryTimeoutException("canceling statement due to statement timeout"))
+                .when(jdbcTemplate).execute(startsWith("CREATE TEMP TABLE geo_view_staging"));
+
+        assertThatThrownBy(service::refreshAnalytics).isInstanceOf(QueryTimeoutException.class);
+
+        verify(cacheEvictor).evictAll();
+        verify(forecastService, never()).rebuildAll(any());
+        verify(jdbcTemplate, never()).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class), any(), any());
+    }
+}
@@ -0,0 +1,79 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRefreshListenerTest {
+
+    @Mock
+    private DashboardCacheEvictor cacheEvictor;
+
+    @Mock
+    private DashboardInsightsService insightsService;
+
+    @Mock
+    private MapTileService mapTileService;
+
+    @Test
+    void refreshEvictsThenPrecomputesTheRefreshedDay() {
+        listener().handleNotification(AnalyticsRefreshListener.CHANNEL, "2025-10-07");
+
+        InOrder order = inOrder(cacheEvictor, insightsService);
+        order.verify(cacheEvictor).evictAll();
+        order.verify(insightsService).precompute(LocalDate.of(2025, 10, 7));
+    }
+
+    @Test
+    void malformedNotificationIsIgnored() {
+        listener().handleNotification(AnalyticsRefreshListener.CHANNEL, "yesterday");
+
+        verify(cacheEvictor, never()).evictAll();
+        verify(insightsService, never()).precompute(any());
+    }
+
+    @Test
+    void geoViewChangeEvictsTheTilesOfEveryPosition() {
+        GeoViewChangedEvent event = new GeoViewChangedEvent(List.of(
+                new GeoViewChangedEvent.Position(43.6047, 1.4442, 5L),
+                new GeoViewChangedEvent.Position(43.59, 1.43, null)));
+
+        for (String payload : event.toPayloads()) {
+            listener().handleNotification(GeoViewChangedEvent.CHANNEL, payload);
+        }
+
+        verify(mapTileService).evict(event);
+        verify(cacheEvictor, never()).evictAll();
+    }
+
+    @Test
+    void largeGeoViewChangesAreSplitAcrossNotifications() {
+        List<GeoViewChangedEvent.Position> positions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            positions.add(new GeoViewChangedEvent.Position(43.6 + i * 1e-6, 1.44 - i * 1e-6, (long) i));
+        }
+
+        List<String> payloads = new GeoViewChangedEvent(positions).toPayloads();
+
+        assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(payload.length()).isLessThan(8000));
+        assertThat(payloads.stream().flatMap(payload -> GeoViewChangedEvent.fromPayload(payload).positions().stream()))
+                .containsExactlyElementsOf(positions);
+    }
+
+    private AnalyticsRefreshListener listener() {
+        return new AnalyticsRefreshListener(new DataSourceProperties(), cacheEvictor, insightsService, mapTileService, 5000);
+    }
+}
@@ -0,0 +1,63 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.domain.UserRole;
+import io.smartip.security.AuthenticatedUser;
+import java.time.Clock;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.WebRequest;
+
+class DashboardControllerTest {
+
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(1L, "admin@example.com", UserRole.ADMIN);
+
+    private final WebRequest request = mock(WebRequest.class);
+    private DashboardController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new DashboardController(
+                mock(DashboardService.class),
+                mock(AnalyticsAggregationService.class),
+                mock(MapTileService.class),
+                mock(DashboardStreamService.class),
+                mock(DashboardSnapshotService.class),
+                new DashboardVersions(Clock.systemUTC()),
+                Clock.systemUTC());
+        // a client echoing a matching If-None-Match must still get its 400
+        when(request.checkNotModified(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void invalidTrendRangeIsRejectedBeforeETagCheck() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+
+        assertThatThrownBy(() -> controller.getStatusTrends(ADMIN, request, today, today.minusDays(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> controller.getStatusTrends(ADMIN, request, today.minusDays(1), today, "hourly"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(request, never()).checkNotModified(anyString());
+    }
+
+    @Test
+    void invalidMapCursorIsRejectedBeforeETagCheck() {
+        assertThatThrownBy(() -> controller.getMap(ADMIN, request, null, null, null, null, null, null, null, "!!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(request, never()).checkNotModified(anyString());
+    }
+
+    @Test
+    void missingTileIsRejectedBeforeETagCheck() {
+        assertThatThrownBy(() -> controller.getMapTile(ADMIN, request, 1, 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(request, never()).checkNotModified(anyString());
+    }
+}
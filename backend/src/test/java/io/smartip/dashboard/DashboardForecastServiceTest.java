@@ -0,0 +1,98 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.dashboard.dto.ForecastPointResponse;
+import io.smartip.dashboard.dto.ForecastResponse;
+import io.smartip.domain.UserRole;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardForecastServiceTest {
+
+    private static final DashboardScope ADMIN = new DashboardScope("admin@example.com", UserRole.ADMIN, null);
+    private static final DashboardScope TECH = new DashboardScope("tech@example.com", UserRole.TECH, 7L);
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 8);
+
+    @Mock
+    private DashboardRepository repository;
+
+    private DashboardForecastService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardForecastService(repository, 8, 0.3, 0.05, 0.3);
+    }
+
+    @Test
+    void forecastFollowsWeeklySeasonality() {
+        when(repository.fetchDailyTotals(any(), eq(TODAY.minusDays(1)), isNull()))
+                .thenReturn(weekdayTraffic(TODAY.minusDays(56), TODAY.minusDays(1)));
+
+        ForecastResponse response = service.getForecast(TODAY, ADMIN);
+
+        assertThat(response.method()).isEqualTo("holt-winters-additive-weekly");
+        assertThat(response.points()).hasSize(7);
+        for (ForecastPointResponse point : response.points()) {
+            assertThat(point.predictedCount()).isEqualTo(isWeekend(point.date()) ? 2 : 10);
+        }
+    }
+
+    @Test
+    void rebuildFitsEveryTechnicianFromOneQuery() {
+        LocalDate closed = TODAY.minusDays(1);
+        LocalDate from = closed.minusDays(55);
+        Map<Long, Map<LocalDate, Long>> perTechnician = new HashMap<>();
+        for (long technicianId = 1; technicianId <= 200; technicianId++) {
+            perTechnician.put(technicianId, weekdayTraffic(from, closed));
+        }
+        when(repository.fetchDailyTotals(from, closed, null)).thenReturn(weekdayTraffic(from, closed));
+        when(repository.fetchDailyTotalsByTechnician(from, closed)).thenReturn(perTechnician);
+
+        service.rebuildAll(closed);
+        ForecastResponse response = service.getForecast(TODAY, TECH);
+
+        assertThat(response.lastObservedCount()).isEqualTo(isWeekend(closed) ? 2 : 10);
+        verify(repository, never()).fetchDailyTotals(any(), any(), eq(7L));
+    }
+
+    @Test
+    void closedDaysAdvanceTheModelIncrementally() {
+        LocalDate closed = TODAY.minusDays(1);
+        LocalDate from = closed.minusDays(55);
+        when(repository.fetchDailyTotals(from, closed, null)).thenReturn(weekdayTraffic(from, closed));
+        service.rebuildAll(closed);
+
+        when(repository.fetchDailyTotals(TODAY, TODAY, null)).thenReturn(Map.of(TODAY, 40L));
+        ForecastResponse response = service.getForecast(TODAY.plusDays(1), ADMIN);
+
+        assertThat(response.lastObservedCount()).isEqualTo(40);
+        verify(repository).fetchDailyTotals(TODAY, TODAY, null);
+    }
+
+    private static Map<LocalDate, Long> weekdayTraffic(LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> totals = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            totals.put(day, isWeekend(day) ? 2L : 10L);
+        }
+        return totals;
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,88 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.dashboard.DashboardRepository.DailyMetricRow;
+import io.smartip.dashboard.dto.AiInsightResponse;
+import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRepository;
+import io.smartip.domain.UserRole;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardInsightsServiceTest {
+
+    private static final DashboardScope ADMIN = new DashboardScope("admin@example.com", UserRole.ADMIN, null);
+    private static final DashboardScope TECH = new DashboardScope("tech@example.com", UserRole.TECH, 7L);
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 8);
+
+    @Mock
+    private DashboardRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DashboardInsightsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardInsightsService(
+                repository, userRepository, new ConcurrentMapCacheManager(DashboardInsightsService.CACHE_NAME));
+    }
+
+    @Test
+    void readsBothDaysInOneQueryAndCachesPerScope() {
+        when(repository.fetchDailyMetricsRange(TODAY.minusDays(1), TODAY, null)).thenReturn(Map.of(
+                TODAY, Map.of("SCHEDULED", row("SCHEDULED", 12)),
+                TODAY.minusDays(1), Map.of("SCHEDULED", row("SCHEDULED", 10))));
+
+        AiInsightResponse first = service.getInsights(TODAY, ADMIN);
+        AiInsightResponse second = service.getInsights(TODAY, ADMIN);
+
+        assertThat(first.trendDirection()).isEqualTo("UP");
+        assertThat(first.trendPercentage()).isEqualTo(20.0);
+        assertThat(second).isSameAs(first);
+        verify(repository, times(1)).fetchDailyMetricsRange(any(), any(), any());
+    }
+
+    @Test
+    void precomputeWarmsEveryTechnicianIncludingIdleOnes() {
+        when(repository.fetchDailyMetricsRange(TODAY.minusDays(1), TODAY, null)).thenReturn(Map.of());
+        when(repository.fetchTechnicianDailyMetricsRange(TODAY.minusDays(1), TODAY)).thenReturn(Map.of(
+                7L, Map.of(TODAY, Map.of("COMPLETED", row("COMPLETED", 3)))));
+        when(userRepository.findByRoleOrderByIdAsc(UserRole.TECH)).thenReturn(List.of(technician(7L), technician(8L)));
+
+        service.precompute(TODAY);
+        AiInsightResponse busy = service.getInsights(TODAY, TECH);
+        AiInsightResponse idle = service.getInsights(TODAY, new DashboardScope("idle@example.com", UserRole.TECH, 8L));
+
+        assertThat(busy.highlights().getFirst()).contains("3");
+        assertThat(idle.trendDirection()).isEqualTo("FLAT");
+        verify(repository, never()).fetchDailyMetricsRange(any(), any(), anyLong());
+    }
+
+    private static DailyMetricRow row(String status, long count) {
+        return new DailyMetricRow(status, count, null, null, null);
+    }
+
+    private static UserEntity technician(long id) {
+        UserEntity technician = new UserEntity();
+        technician.setId(id);
+        technician.setRole(UserRole.TECH);
+        return technician;
+    }
+}
@@ -11,15 +11,15 @@ import static org.mockito.Mockito.when;
 import io.smartip.dashboard.DashboardRepository.DailyMetricRow;
 import io.smartip.dashboard.dto.DashboardSummaryResponse;
 import io.smartip.dashboard.dto.InterventionMapMarker;
+import io.smartip.dashboard.dto.MapMarkerPage;
 import io.smartip.dashboard.dto.TechnicianLoadResponse;
-import io.smartip.domain.UserEntity;
-import io.smartip.domain.UserRepository;
 import io.smartip.domain.UserRole;
+import io.smartip.security.AuthenticatedUser;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,17 +29,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class DashboardServiceTest {
 
+    private static final DashboardScope ADMIN = new DashboardScope("admin@example.com", UserRole.ADMIN, null);
+    private static final DashboardScope DISPATCHER =
+            new DashboardScope("dispatcher@example.com", UserRole.DISPATCHER, null);
+
     @Mock
     private DashboardRepository repository;
 
     @Mock
-    private UserRepository userRepository;
+    private DashboardForecastService forecastService;
+
+    @Mock
+    private DashboardInsightsService insightsService;
 
     private DashboardService service;
 
     @BeforeEach
     void setUp() {
-        service = new DashboardService(repository, userRepository);
+        service = new DashboardService(repository, forecastService, insightsService, Clock.systemUTC());
     }
 
     @Test
@@ -52,7 +59,7 @@ class DashboardServiceTest {
                 "COMPLETED", new DailyMetricRow("COMPLETED", 7, 540.5, null, refreshed),
                 "VALIDATED", new DailyMetricRow("VALIDATED", 6, null, 87.5, refreshed)));
 
-        DashboardSummaryResponse summary = service.getSummary(date, "admin@example.com", UserRole.ADMIN);
+        DashboardSummaryResponse summary = service.getSummary(date, ADMIN);
 
         assertThat(summary.totalInterventions()).isEqualTo(21);
         assertThat(summary.scheduledCount()).isEqualTo(5);
@@ -70,7 +77,7 @@ class DashboardServiceTest {
         when(repository.fetchTechnicianLoadSnapshots()).thenReturn(List.of(
                 new TechnicianLoadSnapshot(1L, "Alice Tech", "alice@example.com", 2, 4, 600.0, refreshed)));
 
-        List<TechnicianLoadResponse> responses = service.getTechnicianLoad("admin@example.com", UserRole.ADMIN);
+        List<TechnicianLoadResponse> responses = service.getTechnicianLoad(ADMIN);
 
         assertThat(responses).hasSize(1);
         TechnicianLoadResponse response = responses.get(0);
@@ -83,15 +90,11 @@ class DashboardServiceTest {
 
     @Test
     void technicianLoadFiltersForTechnician() {
-        UserEntity tech = new UserEntity();
-        tech.setId(7L);
-        tech.setEmail("tech@example.com");
-        tech.setRole(UserRole.TECH);
-        when(userRepository.findByEmailIgnoreCase("tech@example.com")).thenReturn(Optional.of(tech));
         when(repository.fetchTechnicianLoad(7L)).thenReturn(List.of(
                 new TechnicianLoadSnapshot(7L, "Tech Seven", "tech@example.com", 1, 2, 480.0, Instant.now())));
 
-        List<TechnicianLoadResponse> responses = service.getTechnicianLoad("tech@example.com", UserRole.TECH);
+        List<TechnicianLoadResponse> responses =
+                service.getTechnicianLoad(technician(7L));
 
         assertThat(responses).hasSize(1);
         verify(repository).fetchTechnicianLoad(7L);
@@ -100,14 +103,10 @@ class DashboardServiceTest {
     @Test
     void getSummaryFiltersForTechnician() {
         LocalDate date = LocalDate.of(2025, 10, 8);
-        UserEntity tech = new UserEntity();
-        tech.setId(9L);
-        tech.setEmail("tech@example.com");
-        tech.setRole(UserRole.TECH);
-        when(userRepository.findByEmailIgnoreCase("tech@example.com")).thenReturn(Optional.of(tech));
         when(repository.fetchDailyMetrics(eq(date), eq(9L))).thenReturn(Map.of());
 
-        DashboardSummaryResponse summary = service.getSummary(date, "tech@example.com", UserRole.TECH);
+        DashboardSummaryResponse summary =
+                service.getSummary(date, technician(9L));
 
         assertThat(summary.totalInterventions()).isZero();
         verify(repository).fetchDailyMetrics(eq(date), eq(9L));
@@ -117,16 +116,12 @@ class DashboardServiceTest {
     void getStatusTrendsFiltersForTechnician() {
         LocalDate from = LocalDate.of(2025, 10, 1);
         LocalDate to = LocalDate.of(2025, 10, 7);
-        UserEntity tech = new UserEntity();
-        tech.setId(12L);
-        tech.setEmail("tech@example.com");
-        tech.setRole(UserRole.TECH);
-        when(userRepository.findByEmailIgnoreCase("tech@example.com")).thenReturn(Optional.of(tech));
-        when(repository.fetchStatusTrends(from, to, 12L)).thenReturn(List.of());
+        when(repository.fetchStatusTrends(from, to, 12L, TrendGranularity.DAY)).thenReturn(List.of());
 
-        service.getStatusTrends(from, to, "tech@example.com", UserRole.TECH);
+        service.getStatusTrends(
+                from, to, TrendGranularity.DAY, technician(12L));
 
-        verify(repository).fetchStatusTrends(eq(from), eq(to), eq(12L));
+        verify(repository).fetchStatusTrends(eq(from), eq(to), eq(12L), eq(TrendGranularity.DAY));
     }
 
     @Test
@@ -136,7 +131,7 @@ class DashboardServiceTest {
         when(repository.fetchMapMarkers(any(), isNull(), eq(500))).thenReturn(markers);
 
         List<InterventionMapMarker> rounded =
-                service.getMapMarkers(List.of("in_progress"), false, 0, "dispatcher@example.com", UserRole.DISPATCHER);
+                service.getMapMarkers(List.of("in_progress"), false, 0, DISPATCHER);
 
         assertThat(rounded.get(0).latitude()).isEqualTo(48.86);
         assertThat(rounded.get(0).longitude()).isEqualTo(2.35);
@@ -150,7 +145,7 @@ class DashboardServiceTest {
         when(repository.fetchMapMarkers(any(), isNull(), eq(200))).thenReturn(markers);
 
         List<InterventionMapMarker> raw =
-                service.getMapMarkers(List.of("IN_PROGRESS"), true, 200, "admin@example.com", UserRole.ADMIN);
+                service.getMapMarkers(List.of("IN_PROGRESS"), true, 200, ADMIN);
 
         assertThat(raw.get(0).latitude()).isEqualTo(48.856613);
         assertThat(raw.get(0).longitude()).isEqualTo(2.352222);
@@ -158,24 +153,56 @@ class DashboardServiceTest {
 
     @Test
     void getMapMarkersFiltersForTechnician() {
-        UserEntity tech = new UserEntity();
-        tech.setId(5L);
-        tech.setEmail("tech@example.com");
-        tech.setRole(UserRole.TECH);
-        when(userRepository.findByEmailIgnoreCase("tech@example.com")).thenReturn(Optional.of(tech));
         when(repository.fetchMapMarkers(any(), eq(5L), eq(500))).thenReturn(List.of());
 
-        service.getMapMarkers(List.of("scheduled"), false, 0, "tech@example.com", UserRole.TECH);
+        service.getMapMarkers(List.of("scheduled"), false, 0, technician(5L));
 
         verify(repository).fetchMapMarkers(eq(List.of("SCHEDULED")), eq(5L), eq(500));
     }
 
     @Test
-    void technicianLoadThrowsWhenUserMissing() {
-        when(userRepository.findByEmailIgnoreCase("ghost@example.com")).thenReturn(Optional.empty());
+    void getMapMarkerPageReturnsCursorWhenMoreRowsExist() {
+        Instant updated = Instant.parse("2025-10-07T10:00:00.123456Z");
+        MapViewport viewport = new MapViewport(43.5, 1.3, 43.7, 1.5);
+        when(repository.fetchMapMarkerPage(any(), isNull(), eq(viewport), isNull(), eq(3))).thenReturn(List.of(
+                new InterventionMapMarker(9L, 43.604712, 1.444211, "SCHEDULED", null, null, updated),
+                new InterventionMapMarker(8L, 43.614712, 1.454211, "SCHEDULED", null, null, updated),
+                new InterventionMapMarker(7L, 43.624712, 1.464211, "SCHEDULED", null, null, updated)));
+
+        MapMarkerPage page = service.getMapMarkerPage(
+                new MapMarkerQuery(null, viewport, null, 6, 2), true, ADMIN);
+
+        assertThat(page.markers()).extracting(InterventionMapMarker::interventionId).containsExactly(9L, 8L);
+        assertThat(page.markers().get(0).latitude()).isEqualTo(43.6);
+        assertThat(MapCursor.decode(page.nextCursor())).isEqualTo(new MapCursor(updated, 8L));
+    }
+
+    @Test
+    void getMapMarkerPageHasNoCursorOnLastPage() {
+        MapCursor cursor = new MapCursor(Instant.parse("2025-10-07T10:00:00Z"), 8L);
+        when(repository.fetchMapMarkerPage(any(), isNull(), isNull(), eq(cursor), eq(501))).thenReturn(List.of());
+
+        MapMarkerPage page = service.getMapMarkerPage(
+                new MapMarkerQuery(null, null, cursor, null, 0), false, DISPATCHER);
+
+        assertThat(page.markers()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void invalidMapCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MapCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void scopeIsTakenFromThePrincipal() {
+        assertThat(DashboardScope.of(new AuthenticatedUser(7L, "tech@example.com", UserRole.TECH)))
+                .isEqualTo(technician(7L));
+        assertThat(DashboardScope.of(new AuthenticatedUser(1L, "admin@example.com", UserRole.ADMIN)))
+                .isEqualTo(ADMIN);
+    }
 
-        assertThrows(
-                IllegalArgumentException.class,
-                () -> service.getTechnicianLoad("ghost@example.com", UserRole.TECH));
+    private static DashboardScope technician(long id) {
+        return new DashboardScope("tech@example.com", UserRole.TECH, id);
     }
 }
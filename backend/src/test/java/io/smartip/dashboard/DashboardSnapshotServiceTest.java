@@ -0,0 +1,80 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import io.smartip.dashboard.dto.DashboardSnapshotResponse;
+import io.smartip.dashboard.dto.DashboardSummaryResponse;
+import io.smartip.domain.UserRole;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSnapshotServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 7);
+    private static final DashboardScope SCOPE = new DashboardScope("tech@example.com", UserRole.TECH, 7L);
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Test
+    void loadsAllSectionsWithTimings() {
+        DashboardSummaryResponse summary = new DashboardSummaryResponse(1, 1, 0, 0, 0, null, null, null);
+        when(dashboardService.getSummary(DATE, SCOPE)).thenReturn(summary);
+        when(dashboardService.getStatusTrends(DATE.minusDays(13), DATE, TrendGranularity.DAY, SCOPE)).thenReturn(List.of());
+        when(dashboardService.getTechnicianLoad(SCOPE)).thenReturn(List.of());
+        when(dashboardService.getMapMarkers(isNull(), eq(false), eq(0), eq(SCOPE))).thenReturn(List.of());
+
+        DashboardSnapshotResponse snapshot = new DashboardSnapshotService(dashboardService, 2).load(DATE, SCOPE);
+
+        assertThat(snapshot.summary()).isEqualTo(summary);
+        assertThat(snapshot.statusTrends()).isEmpty();
+        assertThat(snapshot.timingsMs())
+                .containsOnlyKeys("summary", "statusTrends", "technicianLoad", "insights", "forecast", "map");
+    }
+
+    @Test
+    void propagatesSectionFailure() {
+        when(dashboardService.getTechnicianLoad(SCOPE)).thenThrow(new IllegalArgumentException("boom"));
+        when(dashboardService.getMapMarkers(any(), anyBoolean(), anyInt(), any())).thenReturn(List.of());
+
+        assertThrows(
+                IllegalArgumentException.class, () -> new DashboardSnapshotService(dashboardService, 2).load(DATE, SCOPE));
+    }
+
+    @Test
+    void sectionsShareTheConnectionBudget() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Answer<Object> slow = invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        };
+        lenient().when(dashboardService.getSummary(any(), any())).thenAnswer(slow);
+        lenient().when(dashboardService.getStatusTrends(any(), any(), any(), any())).thenAnswer(slow);
+        lenient().when(dashboardService.getTechnicianLoad(any())).thenAnswer(slow);
+        lenient().when(dashboardService.getAiInsights(any(), any())).thenAnswer(slow);
+        lenient().when(dashboardService.getForecast(any(), any())).thenAnswer(slow);
+        lenient().when(dashboardService.getMapMarkers(any(), anyBoolean(), anyInt(), any())).thenAnswer(slow);
+
+        new DashboardSnapshotService(dashboardService, 2).load(DATE, SCOPE);
+
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,88 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.smartip.dashboard.dto.DashboardDelta;
+import io.smartip.domain.InterventionStatus;
+import io.smartip.domain.UserRole;
+import io.smartip.interventions.InterventionChangeEvent;
+import io.smartip.interventions.InterventionChangeEvent.Type;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class DashboardStreamClientTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 7);
+    private static final Instant PLANNED = Instant.parse("2025-10-07T09:00:00Z");
+
+    @Test
+    void coalescesSuccessiveChangesOfTheSameIntervention() {
+        DashboardStreamClient client = new DashboardStreamClient(new SseEmitter(), UserRole.ADMIN, null);
+
+        client.apply(event(Type.CREATED, InterventionStatus.SCHEDULED, null, 4L, null, 43.604712), TODAY);
+        client.apply(event(Type.STATUS_CHANGED, InterventionStatus.IN_PROGRESS, InterventionStatus.SCHEDULED, 4L, 4L, 43.604712), TODAY);
+        client.apply(event(Type.STATUS_CHANGED, InterventionStatus.COMPLETED, InterventionStatus.IN_PROGRESS, 4L, 4L, 43.604712), TODAY);
+
+        DashboardDelta delta = client.drain();
+
+        assertThat(delta.summary()).isEqualTo(Map.of("COMPLETED", 1L));
+        assertThat(delta.technicianOpenCounts()).isEmpty();
+        assertThat(delta.markerUpserts()).singleElement().satisfies(marker -> {
+            assertThat(marker.status()).isEqualTo("COMPLETED");
+            assertThat(marker.latitude()).isEqualTo(43.604712);
+        });
+        assertThat(client.drain()).isNull();
+    }
+
+    @Test
+    void technicianOnlySeesOwnInterventionsAndLosesReassignedOnes() {
+        DashboardStreamClient client = new DashboardStreamClient(new SseEmitter(), UserRole.TECH, 4L);
+
+        client.apply(event(Type.CREATED, InterventionStatus.SCHEDULED, null, 9L, null, 43.6), TODAY);
+        assertThat(client.drain()).isNull();
+
+        client.apply(event(Type.UPDATED, InterventionStatus.SCHEDULED, InterventionStatus.SCHEDULED, 9L, 4L, 43.6), TODAY);
+        DashboardDelta delta = client.drain();
+
+        assertThat(delta.summary()).isEqualTo(Map.of("SCHEDULED", -1L));
+        assertThat(delta.technicianOpenCounts()).isEqualTo(Map.of(4L, -1L));
+        assertThat(delta.markerUpserts()).isEmpty();
+        assertThat(delta.markerRemovals()).containsExactly(1L);
+    }
+
+    @Test
+    void dispatcherMarkersAreRounded() {
+        DashboardStreamClient client = new DashboardStreamClient(new SseEmitter(), UserRole.DISPATCHER, null);
+
+        client.apply(event(Type.CREATED, InterventionStatus.SCHEDULED, null, 4L, null, 43.604712), TODAY);
+
+        assertThat(client.drain().markerUpserts().getFirst().latitude()).isEqualTo(43.6);
+    }
+
+    private static InterventionChangeEvent event(
+            Type type,
+            InterventionStatus status,
+            InterventionStatus previousStatus,
+            Long technicianId,
+            Long previousTechnicianId,
+            double latitude) {
+        boolean hasPrevious = previousStatus != null;
+        return new InterventionChangeEvent(
+                type,
+                1L,
+                status,
+                previousStatus,
+                technicianId,
+                previousTechnicianId,
+                PLANNED,
+                hasPrevious ? PLANNED : null,
+                latitude,
+                1.444209,
+                hasPrevious ? latitude : null,
+                hasPrevious ? 1.444209 : null,
+                PLANNED);
+    }
+}
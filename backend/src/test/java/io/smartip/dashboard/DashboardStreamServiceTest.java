@@ -0,0 +1,51 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.smartip.domain.UserRole;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DashboardStreamServiceTest {
+
+    private static final DashboardScope ADMIN = new DashboardScope("admin@example.com", UserRole.ADMIN, null);
+
+    private final DashboardStreamService service = new DashboardStreamService(5, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void concurrentSubscribersNeverExceedTheCap() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.subscribe(ADMIN);
+                        return true;
+                    } catch (DashboardStreamUnavailableException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                accepted += attempt.get() ? 1 : 0;
+            }
+            assertThat(accepted).isEqualTo(5);
+        }
+        assertThat(service.subscriberCount()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,83 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.smartip.domain.InterventionStatus;
+import io.smartip.domain.UserRole;
+import io.smartip.interventions.InterventionChangeEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class DashboardVersionsTest {
+
+    private static final DashboardScope ADMIN = new DashboardScope("admin@example.com", UserRole.ADMIN, null);
+    private static final DashboardScope TECH_SEVEN = new DashboardScope("seven@example.com", UserRole.TECH, 7L);
+    private static final DashboardScope TECH_EIGHT = new DashboardScope("eight@example.com", UserRole.TECH, 8L);
+
+    private static final Instant NOW = Instant.parse("2025-10-07T08:00:00Z");
+
+    private final DashboardVersions versions = new DashboardVersions(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void changeOnlyInvalidatesAffectedScopes() {
+        String admin = versions.etag(ADMIN);
+        String seven = versions.etag(TECH_SEVEN);
+        String eight = versions.etag(TECH_EIGHT);
+
+        versions.onInterventionChange(statusChange(7L));
+
+        assertThat(versions.etag(ADMIN)).isNotEqualTo(admin);
+        assertThat(versions.etag(TECH_SEVEN)).isNotEqualTo(seven);
+        assertThat(versions.etag(TECH_EIGHT)).isEqualTo(eight);
+    }
+
+    @Test
+    void tagsMoveOnWithTheClockBucket() {
+        String current = versions.etag(ADMIN);
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        DashboardVersions sameBucket = new DashboardVersions(Clock.offset(clock, Duration.ofSeconds(59)));
+        DashboardVersions nextBucket = new DashboardVersions(Clock.offset(clock, Duration.ofSeconds(60)));
+
+        assertThat(versions.etag(ADMIN)).isEqualTo(current);
+        assertThat(bucketOf(sameBucket.etag(ADMIN))).isEqualTo(bucketOf(current));
+        assertThat(bucketOf(nextBucket.etag(ADMIN))).isNotEqualTo(bucketOf(current));
+    }
+
+    @Test
+    void refreshInvalidatesEveryScope() {
+        String eight = versions.etag(TECH_EIGHT);
+
+        versions.bumpAll();
+
+        assertThat(versions.etag(TECH_EIGHT)).isNotEqualTo(eight);
+    }
+
+    @Test
+    void representationsGetDistinctTags() {
+        assertThat(versions.etag(ADMIN, "bin")).isNotEqualTo(versions.etag(ADMIN)).startsWith("W/\"");
+    }
+
+    private static InterventionChangeEvent statusChange(long technicianId) {
+        return new InterventionChangeEvent(
+                InterventionChangeEvent.Type.STATUS_CHANGED,
+                1L,
+                InterventionStatus.IN_PROGRESS,
+                InterventionStatus.SCHEDULED,
+                technicianId,
+                technicianId,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                Instant.now());
+    }
+
+    private static String bucketOf(String etag) {
+        return etag.split("-")[2];
+    }
+}
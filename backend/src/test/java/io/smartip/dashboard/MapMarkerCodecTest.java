@@ -0,0 +1,63 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.smartip.dashboard.dto.InterventionMapMarker;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MapMarkerCodecTest {
+
+    private static final List<String> STATUSES = List.of("SCHEDULED", "IN_PROGRESS", "COMPLETED", "VALIDATED");
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void roundTripsMarkers() {
+        List<InterventionMapMarker> markers = List.of(
+                new InterventionMapMarker(42L, 43.604712, 1.444209, "IN_PROGRESS", 7L,
+                        Instant.parse("2025-10-07T08:00:00Z"), Instant.parse("2025-10-07T09:15:30Z")),
+                new InterventionMapMarker(17L, -33.868820, 151.209290, "SCHEDULED", null,
+                        null, Instant.parse("2025-10-06T22:01:02Z")));
+
+        List<InterventionMapMarker> decoded = MapMarkerCodec.decode(MapMarkerCodec.encode(markers));
+
+        assertThat(decoded).isEqualTo(markers);
+    }
+
+    @Test
+    void payloadIsMuchSmallerThanJson() throws Exception {
+        List<InterventionMapMarker> markers = toulouseMarkers(500);
+
+        byte[] json = objectMapper.writeValueAsBytes(markers);
+        byte[] binary = MapMarkerCodec.encode(markers);
+
+        assertThat(binary.length)
+                .as("binary %d bytes vs JSON %d bytes", binary.length, json.length)
+                .isLessThan(json.length / 5);
+        assertThat(MapMarkerCodec.decode(binary)).hasSize(500);
+    }
+
+    private static List<InterventionMapMarker> toulouseMarkers(int count) {
+        Random random = new Random(42);
+        Instant now = Instant.parse("2025-10-07T12:00:00Z");
+        List<InterventionMapMarker> markers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            markers.add(new InterventionMapMarker(
+                    10_000L - i * 3L,
+                    43.6 + random.nextGaussian() * 0.05,
+                    1.44 + random.nextGaussian() * 0.05,
+                    STATUSES.get(random.nextInt(STATUSES.size())),
+                    random.nextInt(5) == 0 ? null : (long) random.nextInt(40),
+                    now.plusSeconds(random.nextInt(86_400 * 7)),
+                    now.minusSeconds(i * 45L)));
+        }
+        return markers;
+    }
+}
@@ -0,0 +1,90 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.dashboard.dto.MapClusterResponse;
+import io.smartip.dashboard.dto.MapTileResponse;
+import io.smartip.domain.UserRole;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class MapTileServiceTest {
+
+    private static final double TOULOUSE_LAT = 43.6047;
+    private static final double TOULOUSE_LON = 1.4442;
+    private static final DashboardScope ADMIN = new DashboardScope("admin@example.com", UserRole.ADMIN, null);
+    private static final DashboardScope DISPATCHER =
+            new DashboardScope("dispatcher@example.com", UserRole.DISPATCHER, null);
+
+    @Mock
+    private DashboardRepository repository;
+
+    private MapTileService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MapTileService(repository, new ConcurrentMapCacheManager(MapTileService.CACHE_NAME));
+    }
+
+    @Test
+    void tileContainingPointMatchesBounds() {
+        int zoom = 12;
+        int x = MapTiles.tileX(TOULOUSE_LON, zoom);
+        int y = MapTiles.tileY(TOULOUSE_LAT, zoom);
+
+        MapTiles.Bounds bounds = MapTiles.bounds(zoom, x, y);
+
+        assertThat(TOULOUSE_LAT).isBetween(bounds.south(), bounds.north());
+        assertThat(TOULOUSE_LON).isBetween(bounds.west(), bounds.east());
+    }
+
+    @Test
+    void tilesAreCachedAndRoundedForDispatchers() {
+        when(repository.fetchMapClusters(any(), anyDouble(), anyInt(), anyInt(), isNull()))
+                .thenReturn(List.of(new MapClusterResponse(43.60471, 1.44423, 3, Map.of("SCHEDULED", 3L), null)));
+
+        MapTileResponse admin = service.getTile(0, 0, 0, ADMIN);
+        MapTileResponse dispatcher = service.getTile(0, 0, 0, DISPATCHER);
+
+        assertThat(admin.total()).isEqualTo(3);
+        assertThat(admin.clusters().getFirst().latitude()).isEqualTo(43.60471);
+        assertThat(dispatcher.clusters().getFirst().latitude()).isEqualTo(43.6);
+        verify(repository, times(1)).fetchMapClusters(any(), anyDouble(), anyInt(), anyInt(), isNull());
+    }
+
+    @Test
+    void geoViewChangeEvictsCoveringTiles() {
+        when(repository.fetchMapClusters(any(), anyDouble(), anyInt(), anyInt(), isNull())).thenReturn(List.of());
+        int x = MapTiles.tileX(TOULOUSE_LON, 10);
+        int y = MapTiles.tileY(TOULOUSE_LAT, 10);
+        service.getTile(10, x, y, ADMIN);
+        service.getTile(10, 0, 0, ADMIN);
+
+        service.evict(new GeoViewChangedEvent(
+                List.of(new GeoViewChangedEvent.Position(TOULOUSE_LAT, TOULOUSE_LON, 5L))));
+        service.getTile(10, x, y, ADMIN);
+        service.getTile(10, 0, 0, ADMIN);
+
+        verify(repository, times(3)).fetchMapClusters(any(), anyDouble(), anyInt(), anyInt(), isNull());
+    }
+
+    @Test
+    void rejectsTilesOutsideTheGrid() {
+        assertThrows(IllegalArgumentException.class, () -> service.getTile(2, 4, 0, ADMIN));
+    }
+}
@@ -0,0 +1,37 @@
+package io.smartip.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class TrendGranularityTest {
+
+    private static final LocalDate TO = LocalDate.of(2025, 10, 8);
+
+    @Test
+    void autoPicksTheFinestTierWithinBounds() {
+        assertThat(TrendGranularity.resolve(null, TO.minusDays(13), TO)).isEqualTo(TrendGranularity.DAY);
+        assertThat(TrendGranularity.resolve("auto", TO.minusDays(91), TO)).isEqualTo(TrendGranularity.DAY);
+        assertThat(TrendGranularity.resolve("auto", TO.minusDays(365), TO)).isEqualTo(TrendGranularity.WEEK);
+        assertThat(TrendGranularity.resolve(" ", TO.minusYears(4), TO)).isEqualTo(TrendGranularity.MONTH);
+    }
+
+    @Test
+    void explicitGranularityMustKeepTheResponseBounded() {
+        assertThat(TrendGranularity.resolve("Month", TO.minusDays(13), TO)).isEqualTo(TrendGranularity.MONTH);
+        assertThatThrownBy(() -> TrendGranularity.resolve("day", TO.minusYears(1), TO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("coarser");
+        assertThatThrownBy(() -> TrendGranularity.resolve("quarter", TO.minusDays(1), TO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void periodsStartOnMondayAndFirstOfMonth() {
+        assertThat(TrendGranularity.WEEK.periodStart(TO)).isEqualTo(LocalDate.of(2025, 10, 6));
+        assertThat(TrendGranularity.MONTH.periodStart(TO)).isEqualTo(LocalDate.of(2025, 10, 1));
+        assertThat(TrendGranularity.WEEK.buckets(LocalDate.of(2025, 10, 5), TO)).isEqualTo(2);
+    }
+}
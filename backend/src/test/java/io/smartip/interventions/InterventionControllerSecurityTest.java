@@ -11,22 +11,29 @@ import static org.mockito.Mockito.when;
 import io.smartip.domain.InterventionAssignmentMode;
 import io.smartip.domain.InterventionEntity;
 import io.smartip.domain.InterventionStatus;
+import io.smartip.domain.InterventionVersion;
 import io.smartip.domain.UserEntity;
 import io.smartip.domain.UserRole;
 import io.smartip.interventions.dto.InterventionResponse;
 import io.smartip.interventions.dto.UpdateInterventionStatusRequest;
+import io.smartip.security.AuthenticatedUser;
 import java.time.Instant;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.TestingAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @ExtendWith(MockitoExtension.class)
 class InterventionControllerSecurityTest {
 
+    private static final AuthenticatedUser TECHNICIAN = new AuthenticatedUser(7L, "tech@example.com", UserRole.TECH);
+
     @Mock
     private InterventionService interventionService;
 
@@ -35,36 +42,29 @@ class InterventionControllerSecurityTest {
 
     @Test
     void technicianCannotValidateIntervention() {
-        when(interventionService.getIntervention(42L))
-                .thenReturn(intervention(42L, InterventionStatus.COMPLETED, technician(7L, "tech@example.com")));
-
-        Authentication authentication = authenticatedUser("tech@example.com", "ROLE_TECH");
-
         assertThatThrownBy(() -> controller.updateStatus(
                         42L,
                         new UpdateInterventionStatusRequest(InterventionStatus.VALIDATED),
-                        authentication))
+                        TECHNICIAN))
                 .isInstanceOf(InterventionAccessDeniedException.class);
 
         verify(interventionService, never()).updateStatus(anyLong(), any());
+        verify(interventionService, never()).updateAssignedStatus(anyLong(), anyLong(), any());
     }
 
     @Test
-    void technicianCanAdvanceToInProgressWhenAssigned() {
-        when(interventionService.getIntervention(10L))
-                .thenReturn(intervention(10L, InterventionStatus.SCHEDULED, technician(3L, "tech@example.com")));
-        when(interventionService.updateStatus(10L, InterventionStatus.IN_PROGRESS))
-                .thenReturn(intervention(10L, InterventionStatus.IN_PROGRESS, technician(3L, "tech@example.com")));
-
-        Authentication authentication = authenticatedUser("tech@example.com", "ROLE_TECH");
+    void technicianStatusUpdatesAreScopedToTheirId() {
+        when(interventionService.updateAssignedStatus(10L, 7L, InterventionStatus.IN_PROGRESS))
+                .thenReturn(intervention(10L, InterventionStatus.IN_PROGRESS, technician(7L, "tech@example.com")));
 
         InterventionResponse response = controller.updateStatus(
                 10L,
                 new UpdateInterventionStatusRequest(InterventionStatus.IN_PROGRESS),
-                authentication);
+                TECHNICIAN);
 
         assertThat(response.status()).isEqualTo(InterventionStatus.IN_PROGRESS);
-        verify(interventionService).updateStatus(10L, InterventionStatus.IN_PROGRESS);
+        verify(interventionService, never()).updateStatus(anyLong(), any());
+        verify(interventionService, never()).getIntervention(anyLong());
     }
 
     @Test
@@ -72,38 +72,73 @@ class InterventionControllerSecurityTest {
         when(interventionService.updateStatus(9L, InterventionStatus.VALIDATED))
                 .thenReturn(intervention(9L, InterventionStatus.VALIDATED, technician(2L, "tech@example.com")));
 
-        Authentication authentication = authenticatedUser("dispatch@example.com", "ROLE_DISPATCHER");
-
         InterventionResponse response = controller.updateStatus(
                 9L,
                 new UpdateInterventionStatusRequest(InterventionStatus.VALIDATED),
-                authentication);
+                new AuthenticatedUser(1L, "dispatch@example.com", UserRole.DISPATCHER));
 
         assertThat(response.status()).isEqualTo(InterventionStatus.VALIDATED);
         verify(interventionService).updateStatus(9L, InterventionStatus.VALIDATED);
-        verify(interventionService, never()).getIntervention(9L);
+        verify(interventionService, never()).updateAssignedStatus(anyLong(), anyLong(), any());
     }
 
     @Test
-    void technicianCannotProgressUnassignedIntervention() {
-        when(interventionService.getIntervention(55L))
-                .thenReturn(intervention(55L, InterventionStatus.SCHEDULED, null));
+    void technicianReadsGoThroughTheOwnershipQuery() {
+        when(interventionService.findVersion(42L)).thenReturn(Optional.empty());
+        when(interventionService.getAssignedIntervention(42L, 7L))
+                .thenReturn(intervention(42L, InterventionStatus.SCHEDULED, technician(7L, "tech@example.com")));
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/interventions/42");
 
-        Authentication authentication = authenticatedUser("tech@example.com", "ROLE_TECH");
+        InterventionResponse response = controller.get(
+                42L, TECHNICIAN, new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
 
-        assertThatThrownBy(() -> controller.updateStatus(
-                        55L,
-                        new UpdateInterventionStatusRequest(InterventionStatus.IN_PROGRESS),
-                        authentication))
-                .isInstanceOf(InterventionAccessDeniedException.class);
+        assertThat(response.id()).isEqualTo(42L);
+        verify(interventionService, never()).getIntervention(anyLong());
+    }
 
-        verify(interventionService, never()).updateStatus(anyLong(), any());
+    @Test
+    void unchangedInterventionIsAnsweredWithoutLoadingIt() {
+        Instant updatedAt = Instant.parse("2024-12-31T10:00:00Z");
+        when(interventionService.findVersion(42L)).thenReturn(Optional.of(version(updatedAt, 7L)));
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/interventions/42");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"42-" + updatedAt.toEpochMilli() * 1000 + "\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        InterventionResponse response = controller.get(
+                42L, TECHNICIAN, new ServletWebRequest(servletRequest, servletResponse));
+
+        assertThat(response).isNull();
+        assertThat(servletResponse.getStatus()).isEqualTo(304);
+        verify(interventionService, never()).getIntervention(anyLong());
+        verify(interventionService, never()).getAssignedIntervention(anyLong(), anyLong());
+    }
+
+    @Test
+    void otherTechnicianDoesNotGetValidators() {
+        when(interventionService.findVersion(42L))
+                .thenReturn(Optional.of(version(Instant.parse("2024-12-31T10:00:00Z"), 3L)));
+        when(interventionService.getAssignedIntervention(42L, 7L)).thenThrow(new InterventionAccessDeniedException(42L));
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/interventions/42");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> controller.get(
+                        42L, TECHNICIAN, new ServletWebRequest(servletRequest, servletResponse)))
+                .isInstanceOf(InterventionAccessDeniedException.class);
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isNull();
     }
 
-    private Authentication authenticatedUser(String username, String... authorities) {
-        TestingAuthenticationToken token = new TestingAuthenticationToken(username, "password", authorities);
-        token.setAuthenticated(true);
-        return token;
+    private InterventionVersion version(Instant updatedAt, Long technicianId) {
+        return new InterventionVersion() {
+            @Override
+            public Instant getUpdatedAt() {
+                return updatedAt;
+            }
+
+            @Override
+            public Long getTechnicianId() {
+                return technicianId;
+            }
+        };
     }
 
     private InterventionEntity intervention(Long id, InterventionStatus status, UserEntity technician) {
@@ -1,7 +1,9 @@
 package io.smartip.interventions;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,6 +16,7 @@ import io.smartip.domain.InterventionStatus;
 import io.smartip.domain.UserEntity;
 import io.smartip.domain.UserRepository;
 import io.smartip.domain.UserRole;
+import io.smartip.outbox.OutboxService;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -48,6 +51,9 @@ class InterventionDemoSimulatorTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private OutboxService outboxService;
+
     @Captor
     private ArgumentCaptor<List<InterventionEntity>> interventionsCaptor;
 
@@ -56,7 +62,14 @@ class InterventionDemoSimulatorTest {
 
     @BeforeEach
     void setUp() {
-        when(interventionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(interventionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<InterventionEntity> entities = invocation.getArgument(0);
+            long nextId = 1;
+            for (InterventionEntity entity : entities) {
+                entity.setId(nextId++);
+            }
+            return entities;
+        });
         technicians = List.of(
                 technician(101L, "amandine.dupont@sip.local", "Amandine Dupont"),
                 technician(102L, "karim.leroy@sip.local", "Karim Leroy"));
@@ -71,7 +84,7 @@ class InterventionDemoSimulatorTest {
                 .thenReturn(10, 10, 0);
 
         InterventionDemoSimulator simulator = new InterventionDemoSimulator(
-                interventionRepository, userRepository, jdbcTemplate, FIXED_CLOCK, new Random(42), 100, 10);
+                interventionRepository, userRepository, jdbcTemplate, outboxService, FIXED_CLOCK, new Random(42), 100, 10);
 
         simulator.runSimulation();
 
@@ -83,6 +96,8 @@ class InterventionDemoSimulatorTest {
         List<InterventionEntity> generated = interventionsCaptor.getValue();
 
         assertThat(generated).hasSizeBetween(0, 3);
+        verify(outboxService, times(generated.size()))
+                .append(eq(InterventionChangeEvent.AGGREGATE_TYPE), anyLong(), eq("CREATED"), any());
 
         Instant now = FIXED_CLOCK.instant();
         Instant lowerBound = now.minus(Duration.ofMinutes(30));
@@ -152,7 +167,7 @@ class InterventionDemoSimulatorTest {
                 .thenReturn(0);
 
         InterventionDemoSimulator simulator = new InterventionDemoSimulator(
-                interventionRepository, userRepository, jdbcTemplate, FIXED_CLOCK, new Random(7), 100, 10);
+                interventionRepository, userRepository, jdbcTemplate, outboxService, FIXED_CLOCK, new Random(7), 100, 10);
 
         simulator.runSimulation();
         simulator.runSimulation();
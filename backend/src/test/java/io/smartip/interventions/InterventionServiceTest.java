@@ -0,0 +1,51 @@
+package io.smartip.interventions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.domain.InterventionEntity;
+import io.smartip.domain.InterventionRepository;
+import io.smartip.domain.InterventionStatus;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InterventionServiceTest {
+
+    @Mock
+    private InterventionRepository interventionRepository;
+
+    @InjectMocks
+    private InterventionService interventionService;
+
+    @Test
+    void assignedInterventionIsLoadedByIdAndTechnician() {
+        InterventionEntity intervention = new InterventionEntity();
+        intervention.setId(42L);
+        when(interventionRepository.findByIdAndTechnician_Id(42L, 7L)).thenReturn(Optional.of(intervention));
+
+        assertThat(interventionService.getAssignedIntervention(42L, 7L)).isSameAs(intervention);
+        verify(interventionRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void foreignInterventionIsDeniedAndUnknownOneIsNotFound() {
+        when(interventionRepository.findByIdAndTechnician_Id(42L, 7L)).thenReturn(Optional.empty());
+        when(interventionRepository.existsById(42L)).thenReturn(true);
+        when(interventionRepository.findByIdAndTechnician_Id(43L, 7L)).thenReturn(Optional.empty());
+        when(interventionRepository.existsById(43L)).thenReturn(false);
+
+        assertThatThrownBy(() -> interventionService.updateAssignedStatus(42L, 7L, InterventionStatus.IN_PROGRESS))
+                .isInstanceOf(InterventionAccessDeniedException.class);
+        assertThatThrownBy(() -> interventionService.getAssignedIntervention(43L, 7L))
+                .isInstanceOf(InterventionNotFoundException.class);
+    }
+}
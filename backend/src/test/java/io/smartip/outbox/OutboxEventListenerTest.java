@@ -0,0 +1,46 @@
+package io.smartip.outbox;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventListenerTest {
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void broadcastEventIsRepublishedLocally() throws Exception {
+        OutboxEvent event = new OutboxEvent(
+                5, "intervention", 42, "STATUS_CHANGED", "{\"interventionId\":42}", Instant.parse("2025-01-01T10:00:00Z"));
+
+        listener().handleNotification(objectMapper.writeValueAsString(event));
+
+        verify(eventPublisher).publishEvent(event);
+    }
+
+    @Test
+    void malformedNotificationIsIgnored() {
+        listener().handleNotification("{not json");
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private OutboxEventListener listener() {
+        return new OutboxEventListener(new DataSourceProperties(), objectMapper, eventPublisher, 5000);
+    }
+}
@@ -0,0 +1,73 @@
+package io.smartip.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository repository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        relay = new OutboxRelay(repository, List.of(sink), transactionManager, true, 2, 10);
+    }
+
+    @Test
+    void drainPublishesAndDeletesUntilBatchIsShort() throws Exception {
+        List<OutboxEvent> first = List.of(event(1), event(2));
+        List<OutboxEvent> second = List.of(event(3));
+        when(repository.lockBatch(2)).thenReturn(first, second);
+
+        int relayed = relay.drain();
+
+        assertThat(relayed).isEqualTo(3);
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(repository).delete(first);
+        verify(repository).delete(second);
+    }
+
+    @Test
+    void failingSinkKeepsBatchInOutbox() throws Exception {
+        List<OutboxEvent> batch = List.of(event(1));
+        when(repository.lockBatch(2)).thenReturn(batch);
+        when(sink.name()).thenReturn("failing");
+        doThrow(new IllegalStateException("broker down")).when(sink).publish(batch);
+
+        int relayed = relay.drain();
+
+        assertThat(relayed).isZero();
+        verify(repository, never()).delete(anyList());
+        verify(transactionManager).rollback(any());
+    }
+
+    private OutboxEvent event(long id) {
+        return new OutboxEvent(id, "intervention", id, "CREATED", "{}", Instant.parse("2025-01-01T10:00:00Z"));
+    }
+}
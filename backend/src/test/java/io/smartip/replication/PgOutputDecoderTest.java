@@ -0,0 +1,112 @@
+package io.smartip.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.smartip.replication.PgOutputMessage.Commit;
+import io.smartip.replication.PgOutputMessage.Kind;
+import io.smartip.replication.PgOutputMessage.Relation;
+import io.smartip.replication.PgOutputMessage.RowChange;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PgOutputDecoderTest {
+
+    private static final int OID = 16_384;
+
+    private PgOutputDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        decoder = new PgOutputDecoder();
+        Relation relation = (Relation) decoder.decode(relationMessage());
+        assertThat(relation.name()).isEqualTo("interventions");
+        assertThat(relation.columns()).containsExactly("id", "technician_id", "planned_at");
+    }
+
+    @Test
+    void decodesUpdateWithOldTupleIntoChangeSet() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('U');
+        out.writeInt(OID);
+        out.writeByte('O');
+        writeTuple(out, "42", "7", "2024-03-01 23:30:00+00");
+        out.writeByte('N');
+        out.writeShort(3);
+        writeText(out, "42");
+        out.writeByte('n');
+        writeText(out, "2024-03-02 08:15:00.123+00");
+
+        RowChange change = (RowChange) decoder.decode(ByteBuffer.wrap(bytes.toByteArray()));
+
+        assertThat(change.kind()).isEqualTo(Kind.UPDATE);
+        assertThat(change.oldValues()).containsEntry("technician_id", "7");
+        assertThat(change.newValues()).containsEntry("technician_id", null);
+
+        InterventionChangeSet changeSet = new InterventionChangeSet();
+        changeSet.add(change);
+        assertThat(changeSet.interventionIds()).containsExactly(42L);
+        assertThat(changeSet.technicianIds()).containsExactly(7L);
+        assertThat(changeSet.metricDates())
+                .containsExactly(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2));
+    }
+
+    @Test
+    void decodesCommitLsns() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('C');
+        out.writeByte(0);
+        out.writeLong(100L);
+        out.writeLong(120L);
+        out.writeLong(0L);
+
+        Commit commit = (Commit) decoder.decode(ByteBuffer.wrap(bytes.toByteArray()));
+
+        assertThat(commit.commitLsn()).isEqualTo(100L);
+        assertThat(commit.endLsn()).isEqualTo(120L);
+    }
+
+    private static ByteBuffer relationMessage() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('R');
+        out.writeInt(OID);
+        writeString(out, "public");
+        writeString(out, "interventions");
+        out.writeByte('f');
+        out.writeShort(3);
+        for (String column : new String[] {"id", "technician_id", "planned_at"}) {
+            out.writeByte(0);
+            writeString(out, column);
+            out.writeInt(20);
+            out.writeInt(-1);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static void writeTuple(DataOutputStream out, String... values) throws IOException {
+        out.writeShort(values.length);
+        for (String value : values) {
+            writeText(out, value);
+        }
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte('t');
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+}
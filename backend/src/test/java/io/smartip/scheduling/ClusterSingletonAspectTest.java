@@ -0,0 +1,130 @@
+package io.smartip.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterSingletonAspectTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Job job;
+    private Job proxy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+
+        job = new Job();
+        AspectJProxyFactory factory = new AspectJProxyFactory(job);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ClusterSingletonAspect(dataSource, meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void runsAndReleasesTheLockWhenAcquired() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(true);
+
+        proxy.run();
+
+        assertThat(job.runs.get()).isEqualTo(1);
+        verify(connection).prepareStatement("SELECT pg_advisory_unlock(?, hashtext(?))");
+        verify(connection).close();
+        assertThat(meterRegistry.get("scheduler.cluster.lock").tag("outcome", "acquired").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.cluster.run").tag("job", "test-job").tag("outcome", "success")
+                        .timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void skipsTheRunWhenAnotherNodeHoldsTheLock() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(false);
+
+        proxy.run();
+
+        assertThat(job.runs.get()).isZero();
+        verify(connection).close();
+        assertThat(meterRegistry.get("scheduler.cluster.lock").tag("outcome", "skipped").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("scheduler.cluster.run").timer()).isNull();
+    }
+
+    @Test
+    void releasesTheLockWhenTheJobFails() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        job.failure = new IllegalStateException("boom");
+
+        assertThatThrownBy(proxy::run).isInstanceOf(IllegalStateException.class);
+
+        verify(connection).prepareStatement("SELECT pg_advisory_unlock(?, hashtext(?))");
+        assertThat(meterRegistry.get("scheduler.cluster.run").tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void skipsTheRunWhenAnotherNodeRanWithinTheInterval() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(statement.executeUpdate()).thenReturn(1, 0);
+
+        proxy.runLeased();
+        proxy.runLeased();
+
+        assertThat(job.runs.get()).isEqualTo(1);
+        verify(statement, times(2)).setDouble(2, 300.0);
+        verify(connection, times(2)).prepareStatement("SELECT pg_advisory_unlock(?, hashtext(?))");
+        assertThat(meterRegistry.get("scheduler.cluster.lock").tag("outcome", "recent").timer().count())
+                .isEqualTo(1);
+    }
+
+    static class Job {
+
+        final AtomicInteger runs = new AtomicInteger();
+        RuntimeException failure;
+
+        @ClusterSingleton("test-job")
+        public void run() {
+            runs.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @ClusterSingleton(value = "leased-job", minInterval = "5m")
+        public void runLeased() {
+            runs.incrementAndGet();
+        }
+    }
+}
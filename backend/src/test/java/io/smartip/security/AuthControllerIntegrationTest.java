@@ -1,10 +1,14 @@
 package io.smartip.security;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,8 +20,16 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
-
-@SpringBootTest
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+// every test logs in again as the same accounts from one address; replays are presented right after the rotation,
+// so the grace period for tabs refreshing together is turned off (RefreshTokenServiceTest covers it)
+@SpringBootTest(properties = {
+    "security.login.ip-burst=10000",
+    "security.login.account-burst=10000",
+    "security.refresh.reuse-grace-period=PT0S"
+})
 @AutoConfigureMockMvc
 @ActiveProfiles("dev")
 class AuthControllerIntegrationTest {
@@ -50,19 +62,30 @@ class AuthControllerIntegrationTest {
 
     @Test
     void login_returnsToken_whenCredentialsValid() throws Exception {
-        mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(asJson(Map.of("email", EMAIL, "password", PASSWORD))))
+        login(PASSWORD)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").isString());
     }
 
     @Test
     void login_rejectsInvalidCredentials() throws Exception {
-        mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(asJson(Map.of("email", EMAIL, "password", "WrongPass1"))))
-                .andExpect(status().isUnauthorized());
+        login("WrongPass1").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refresh_rotatesTheCookie_andRevokesTheSessionOnReuse() throws Exception {
+        Cookie first = login(PASSWORD).andExpect(status().isOk()).andReturn().getResponse().getCookie("sip_refresh");
+
+        Cookie second = mockMvc.perform(post("/api/auth/refresh").cookie(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isString())
+                .andReturn()
+                .getResponse()
+                .getCookie("sip_refresh");
+        assertThat(second.getValue()).isNotEqualTo(first.getValue());
+
+        mockMvc.perform(post("/api/auth/refresh").cookie(first)).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh").cookie(second)).andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -77,14 +100,9 @@ class AuthControllerIntegrationTest {
                                 "newPassword", "NewPassword456!"))))
                 .andExpect(status().isNoContent());
 
-        mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(asJson(Map.of("email", EMAIL, "password", PASSWORD))))
-                .andExpect(status().isUnauthorized());
+        login(PASSWORD).andExpect(status().isUnauthorized());
 
-        mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(asJson(Map.of("email", EMAIL, "password", "NewPassword456!"))))
+        login("NewPassword456!")
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").isString());
     }
@@ -100,9 +118,7 @@ class AuthControllerIntegrationTest {
     }
 
     private String obtainToken(String password) throws Exception {
-        String response = mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(asJson(Map.of("email", EMAIL, "password", password))))
+        String response = login(password)
                 .andExpect(status().isOk())
                 .andReturn()
                 .getResponse()
@@ -110,6 +126,15 @@ class AuthControllerIntegrationTest {
         return objectMapper.readTree(response).get("token").asText();
     }
 
+    private ResultActions login(String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJson(Map.of("email", EMAIL, "password", password))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private String asJson(Map<String, ?> payload) throws Exception {
         return objectMapper.writeValueAsString(payload);
     }
@@ -0,0 +1,49 @@
+package io.smartip.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.smartip.domain.UserRole;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class CurrentUserArgumentResolverTest {
+
+    private static final AuthenticatedUser TECHNICIAN = new AuthenticatedUser(7L, "tech@example.com", UserRole.TECH);
+
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+
+    @Test
+    void resolvesThePrincipalAndItsRoleFromTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, TECHNICIAN);
+        ServletWebRequest webRequest = new ServletWebRequest(request);
+
+        assertThat(resolver.supportsParameter(parameter(0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(1))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(2))).isFalse();
+        assertThat(resolver.resolveArgument(parameter(0), null, webRequest, null)).isSameAs(TECHNICIAN);
+        assertThat(resolver.resolveArgument(parameter(1), null, webRequest, null)).isEqualTo(UserRole.TECH);
+    }
+
+    @Test
+    void missingPrincipalIsAnAuthenticationFailure() throws Exception {
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter(0), null, webRequest, null))
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+
+    private static MethodParameter parameter(int index) throws NoSuchMethodException {
+        Method method = CurrentUserArgumentResolverTest.class.getDeclaredMethod(
+                "handler", AuthenticatedUser.class, UserRole.class, AuthenticatedUser.class);
+        return new MethodParameter(method, index);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser AuthenticatedUser user, @CurrentUser UserRole role, AuthenticatedUser other) {}
+}
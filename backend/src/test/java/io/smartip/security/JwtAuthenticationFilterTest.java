@@ -0,0 +1,115 @@
+package io.smartip.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRole;
+import io.smartip.users.UserDirectory;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "J7qqEwYDpp8tEX6gg5zt8BaHtQWN6tAUK0oEvSUVOb0=";
+    private static final JwtKeyRingProperties NO_KEY_RING = new JwtKeyRingProperties(null, null, null);
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+        JwtProperties properties = properties(true);
+        String token = new JwtTokenService(properties, NO_KEY_RING).generateToken(user(3));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(entry(UserRole.TECH, 3)));
+
+        Authentication authentication = filter(properties, token);
+
+        assertThat(authentication.getName()).isEqualTo("tech@example.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_TECH");
+        verify(userDirectory, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void rejectsTokensFromAnOlderVersion() throws Exception {
+        JwtProperties properties = properties(true);
+        String token = new JwtTokenService(properties, NO_KEY_RING).generateToken(user(3));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(entry(UserRole.TECH, 4)));
+
+        assertThat(filter(properties, token)).isNull();
+        verify(userDirectory, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void loadsTheUserWhenStatelessModeIsDisabled() throws Exception {
+        JwtProperties properties = properties(false);
+        String token = new JwtTokenService(properties, NO_KEY_RING).generateToken(user(0));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(entry(UserRole.DISPATCHER, 0)));
+
+        Authentication authentication = filter(properties, token);
+
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_DISPATCHER");
+        verify(userDirectory, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void rejectsTokensFromAnOlderVersionWhenStatelessModeIsDisabled() throws Exception {
+        JwtProperties properties = properties(false);
+        String token = new JwtTokenService(properties, NO_KEY_RING).generateToken(user(3));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(entry(UserRole.TECH, 4)));
+
+        assertThat(filter(properties, token)).isNull();
+        verify(userDirectory, never()).findByEmail(anyString());
+    }
+
+    private Authentication filter(JwtProperties properties, String token) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(new JwtTokenService(properties, NO_KEY_RING), new SimpleMeterRegistry(), 100),
+                userDirectory,
+                properties);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/interventions");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static JwtProperties properties(boolean stateless) {
+        return new JwtProperties(SECRET, "smart-intervention-platform", Duration.ofHours(1), "sip_jwt", false, stateless);
+    }
+
+    private static UserDirectory.Entry entry(UserRole role, int tokenVersion) {
+        return new UserDirectory.Entry(7L, "tech@example.com", "Tech", role, tokenVersion);
+    }
+
+    private static UserEntity user(int tokenVersion) {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setEmail("tech@example.com");
+        user.setRole(UserRole.TECH);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
@@ -0,0 +1,116 @@
+package io.smartip.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRole;
+import java.io.IOException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "J7qqEwYDpp8tEX6gg5zt8BaHtQWN6tAUK0oEvSUVOb0=";
+    private static final JwtProperties PROPERTIES =
+            new JwtProperties(SECRET, "smart-intervention-platform", Duration.ofHours(1), "sip_jwt", false, true);
+
+    private static final JwtKeyRingProperties NO_KEY_RING = new JwtKeyRingProperties(null, null, null);
+
+    private static final KeyPair RSA = generate("RSA");
+    private static final KeyPair ED25519 = generate("Ed25519");
+
+    @Test
+    void tokensSignedBeforeARotationStillVerify() {
+        JwtTokenService before = service("2025-09", key("2025-09", RSA, true));
+        String oldToken = before.generateToken(user());
+        JwtTokenService after = service("2025-10", key("2025-09", RSA, false), key("2025-10", ED25519, true));
+        String newToken = after.generateToken(user());
+
+        assertThat(header(oldToken)).containsEntry("kid", "2025-09").containsEntry("alg", "RS256");
+        assertThat(header(newToken)).containsEntry("kid", "2025-10").containsEntry("alg", "EdDSA");
+        assertThat(after.parseToken(oldToken).getSubject()).isEqualTo("tech@example.com");
+        assertThat(after.parseToken(newToken).get(JwtTokenService.USER_ID_CLAIM, Long.class)).isEqualTo(7L);
+    }
+
+    @Test
+    void legacyHmacTokensAreOnlyAcceptedDuringTheMigrationWindow() {
+        String legacy = new JwtTokenService(PROPERTIES, NO_KEY_RING).generateToken(user());
+        JwtKeyRingProperties.Key active = key("2025-10", ED25519, true);
+
+        JwtTokenService migrating = new JwtTokenService(PROPERTIES,
+                new JwtKeyRingProperties("2025-10", List.of(active), Instant.now().plus(Duration.ofDays(7))));
+        assertThat(migrating.parseToken(legacy).getSubject()).isEqualTo("tech@example.com");
+
+        JwtTokenService migrated = new JwtTokenService(PROPERTIES,
+                new JwtKeyRingProperties("2025-10", List.of(active), Instant.now().minusSeconds(1)));
+        assertThatThrownBy(() -> migrated.parseToken(legacy)).isInstanceOf(UnsupportedKeyException.class);
+        // no window configured: the secret alone must not be enough to mint accepted tokens
+        assertThatThrownBy(() -> service("2025-10", active).parseToken(legacy))
+                .isInstanceOf(UnsupportedKeyException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void jwksPublishesEveryPublicKey() {
+        JwtTokenService service = service("2025-10", key("2025-09", RSA, false), key("2025-10", ED25519, true));
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) service.jwks().get("keys");
+
+        assertThat(keys).extracting(jwk -> jwk.get("kid")).containsExactly("2025-09", "2025-10");
+        assertThat(keys.get(0)).containsEntry("kty", "RSA").containsEntry("e", "AQAB").containsKey("n");
+        assertThat(keys.get(1)).containsEntry("kty", "OKP").containsEntry("crv", "Ed25519");
+        assertThat(Base64.getUrlDecoder().decode((String) keys.get(1).get("x"))).hasSize(32);
+    }
+
+    private static JwtTokenService service(String activeKid, JwtKeyRingProperties.Key... keys) {
+        return new JwtTokenService(PROPERTIES, new JwtKeyRingProperties(activeKid, List.of(keys), null));
+    }
+
+    private static JwtKeyRingProperties.Key key(String kid, KeyPair pair, boolean withPrivateKey) {
+        return new JwtKeyRingProperties.Key(
+                kid,
+                withPrivateKey ? pem("PRIVATE KEY", pair.getPrivate().getEncoded()) : null,
+                pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static Map<String, Object> header(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+            return new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static KeyPair generate(String algorithm) {
+        try {
+            return KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static UserEntity user() {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setEmail("tech@example.com");
+        user.setRole(UserRole.TECH);
+        return user;
+    }
+}
@@ -0,0 +1,64 @@
+package io.smartip.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(new LoginProperties(1, 1, 4, 60, 2, 6), meterRegistry, now::get);
+    }
+
+    @Test
+    void failedVerificationsThrottleTheAccountFromThatAddressOnly() {
+        throttle.acquire("10.0.0.1", "tech@example.com");
+        throttle.recordFailure("10.0.0.1", "tech@example.com");
+        throttle.acquire("10.0.0.1", "Tech@Example.com");
+        throttle.recordFailure("10.0.0.1", "Tech@Example.com");
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", "tech@example.com"))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        ex -> assertThat(ex.retryAfterSeconds()).isEqualTo(10));
+        assertThatCode(() -> throttle.acquire("10.0.0.2", "tech@example.com")).doesNotThrowAnyException();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThatCode(() -> throttle.acquire("10.0.0.1", "tech@example.com")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "account").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void successfulLoginsDoNotSpendTheAccountBucket() {
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire("10.0.0.1", "tech@example.com");
+        }
+
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "account").counter().count()).isZero();
+    }
+
+    @Test
+    void addressBucketLimitsSprayingAcrossAccounts() {
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire("10.0.0.1", "user" + i + "@example.com");
+        }
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", "user9@example.com"))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        ex -> assertThat(ex.retryAfterSeconds()).isEqualTo(1));
+        assertThatCode(() -> throttle.acquire("10.0.0.2", "user9@example.com")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "address").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,145 @@
+package io.smartip.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smartip.domain.UserRole;
+import io.smartip.security.RefreshTokenRepository.StoredRefreshToken;
+import io.smartip.security.RefreshTokenService.IssuedRefreshToken;
+import io.smartip.security.RefreshTokenService.Rotation;
+import io.smartip.users.UserDirectory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-20T08:00:00Z");
+    private static final UUID FAMILY = UUID.fromString("6f1c0a52-8d0e-4c55-9a6a-0d3c8f1f2b11");
+    private static final UserDirectory.Entry TECH =
+            new UserDirectory.Entry(7L, "tech@example.com", "Tech", UserRole.TECH, 3);
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(
+                repository,
+                userDirectory,
+                new RefreshTokenProperties(
+                        Duration.ofDays(7), Duration.ofDays(30), "sip_refresh", Duration.ofSeconds(10)),
+                new SimpleMeterRegistry(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void rotationConsumesTheTokenAndKeepsTheSessionDeadline() {
+        Instant sessionEnd = NOW.plus(Duration.ofDays(2));
+        when(repository.lockByHash(RefreshTokenService.hash("current")))
+                .thenReturn(Optional.of(stored(null, null, NOW.plusSeconds(60), sessionEnd, 3)));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(TECH));
+
+        Rotation rotation = service.rotate("current");
+
+        assertThat(rotation.user()).isEqualTo(TECH);
+        assertThat(rotation.refreshToken().value()).isNotEqualTo("current");
+        assertThat(rotation.refreshToken().timeToLive()).isEqualTo(Duration.ofDays(2));
+        verify(repository).markUsed(11L, NOW);
+        verify(repository).insert(eq(RefreshTokenService.hash(rotation.refreshToken().value())), eq(FAMILY), eq(7L),
+                eq(3), eq(sessionEnd), eq(sessionEnd));
+    }
+
+    @Test
+    void reusedTokenRevokesTheWholeSession() {
+        when(repository.lockByHash(anyString()))
+                .thenReturn(Optional.of(stored(NOW.minusSeconds(30), null, NOW.plusSeconds(60), NOW.plusSeconds(60), 3)));
+
+        assertThatThrownBy(() -> service.rotate("stolen")).isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(repository).revokeFamily(FAMILY);
+        verify(repository, never()).insert(anyString(), any(), anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    void tokenRotatedTwiceInQuickSuccessionKeepsTheSession() {
+        Instant sessionEnd = NOW.plus(Duration.ofDays(2));
+        // a second tab presents the token the first tab rotated two seconds earlier
+        when(repository.lockByHash(RefreshTokenService.hash("shared")))
+                .thenReturn(Optional.of(stored(null, null, NOW.plusSeconds(60), sessionEnd, 3)))
+                .thenReturn(Optional.of(stored(NOW.minusSeconds(2), null, NOW.plusSeconds(60), sessionEnd, 3)));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(TECH));
+
+        Rotation first = service.rotate("shared");
+        Rotation second = service.rotate("shared");
+
+        assertThat(second.refreshToken().value()).isNotEqualTo(first.refreshToken().value());
+        verify(repository).markUsed(11L, NOW);
+        verify(repository).markSiblingIssued(11L, NOW);
+        verify(repository, never()).revokeFamily(any());
+        verify(repository).insert(eq(RefreshTokenService.hash(second.refreshToken().value())), eq(FAMILY), eq(7L),
+                eq(3), eq(sessionEnd), eq(sessionEnd));
+    }
+
+    @Test
+    void tokenIsExchangedForAtMostOneSibling() {
+        when(repository.lockByHash(anyString()))
+                .thenReturn(Optional.of(new StoredRefreshToken(11L, FAMILY, 7L, 3, NOW.plusSeconds(60),
+                        NOW.plusSeconds(60), NOW.minusSeconds(3), NOW.minusSeconds(1), null)));
+
+        assertThatThrownBy(() -> service.rotate("shared")).isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(repository).revokeFamily(FAMILY);
+        verify(repository, never()).insert(anyString(), any(), anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    void tokenFromAnOlderTokenVersionIsRejected() {
+        when(repository.lockByHash(anyString()))
+                .thenReturn(Optional.of(stored(null, null, NOW.plusSeconds(60), NOW.plusSeconds(60), 2)));
+        when(userDirectory.findById(7L)).thenReturn(Optional.of(TECH));
+
+        assertThatThrownBy(() -> service.rotate("current")).isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(repository).revokeFamily(FAMILY);
+        verify(repository, never()).markUsed(anyLong(), any());
+    }
+
+    @Test
+    void issuedTokensAreStoredHashedWithTheIdleTimeout() {
+        IssuedRefreshToken issued = service.issue(7L, 3);
+
+        assertThat(issued.timeToLive()).isEqualTo(Duration.ofDays(7));
+        verify(repository).insert(eq(RefreshTokenService.hash(issued.value())), any(UUID.class), eq(7L), eq(3),
+                eq(NOW.plus(Duration.ofDays(7))), eq(NOW.plus(Duration.ofDays(30))));
+    }
+
+    private static StoredRefreshToken stored(Instant usedAt, Instant revokedAt, Instant expiresAt,
+            Instant sessionExpiresAt, int tokenVersion) {
+        return new StoredRefreshToken(
+                11L, FAMILY, 7L, tokenVersion, expiresAt, sessionExpiresAt, usedAt, null, revokedAt);
+    }
+}
@@ -0,0 +1,67 @@
+package io.smartip.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smartip.domain.UserEntity;
+import io.smartip.domain.UserRole;
+import io.smartip.security.VerifiedTokenCache.VerifiedToken;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+    private static final JwtProperties PROPERTIES = new JwtProperties(
+            "J7qqEwYDpp8tEX6gg5zt8BaHtQWN6tAUK0oEvSUVOb0=",
+            "smart-intervention-platform",
+            Duration.ofHours(1),
+            "sip_jwt",
+            false,
+            true);
+
+    private final JwtTokenService tokenService =
+            new JwtTokenService(PROPERTIES, new JwtKeyRingProperties(null, null, null));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(tokenService, meterRegistry, 100);
+    }
+
+    @Test
+    void verifiesEachTokenOnce() {
+        String token = tokenService.generateToken(user());
+
+        VerifiedToken first = cache.verify(token);
+        VerifiedToken second = cache.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.userId()).isEqualTo(7L);
+        assertThat(first.principal().getAuthorities()).extracting(Object::toString).containsExactly("ROLE_TECH");
+        assertThat(meterRegistry.get("security.jwt.verification").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tamperedTokensAreRejectedEveryTime() {
+        String token = tokenService.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(meterRegistry.get("security.jwt.verification").timer().count()).isEqualTo(2);
+    }
+
+    private static UserEntity user() {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setEmail("tech@example.com");
+        user.setRole(UserRole.TECH);
+        return user;
+    }
+}
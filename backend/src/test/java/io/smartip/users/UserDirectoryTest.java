@@ -0,0 +1,102 @@
+package io.smartip.users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.smartip.domain.UserRole;
+import io.smartip.users.UserDirectory.Entry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class UserDirectoryTest {
+
+    private static final Entry TECH = new Entry(7L, "tech@example.com", "Tech Seven", UserRole.TECH, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new UserDirectory(jdbcTemplate, new DataSourceProperties(), 5000, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void missesLoadOnceThenServeFromMemory() {
+        when(jdbcTemplate.query(contains("lower(email)"), any(RowMapper.class), eq("tech@example.com")))
+                .thenReturn(List.of(TECH));
+
+        assertThat(directory.findByEmail("Tech@Example.com")).contains(TECH);
+        assertThat(directory.findByEmail("tech@example.com")).contains(TECH);
+        assertThat(directory.findById(7L)).contains(TECH);
+
+        verify(jdbcTemplate, times(1)).query(any(String.class), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void notifiedChangeReplacesTheOldEmail() {
+        Entry renamed = new Entry(7L, "renamed@example.com", "Tech Seven", UserRole.DISPATCHER, 1);
+        when(jdbcTemplate.query(any(String.class), any(RowMapper.class))).thenReturn(List.of(TECH));
+        when(jdbcTemplate.query(contains("WHERE id"), any(RowMapper.class), eq(7L))).thenReturn(List.of(renamed));
+        when(jdbcTemplate.query(contains("lower(email)"), any(RowMapper.class), eq("tech@example.com")))
+                .thenReturn(List.of());
+        directory.reloadAll();
+
+        directory.handleNotification("7");
+
+        assertThat(directory.findById(7L)).contains(renamed);
+        assertThat(directory.findByEmail("renamed@example.com")).contains(renamed);
+        assertThat(directory.findByEmail("tech@example.com")).isEmpty();
+    }
+
+    @Test
+    void unknownUserIsLookedUpOnceWithinTheMissTtl() {
+        when(jdbcTemplate.query(contains("WHERE id"), any(RowMapper.class), eq(9L))).thenReturn(List.of());
+
+        assertThat(directory.findById(9L)).isEmpty();
+        assertThat(directory.findById(9L)).isEmpty();
+
+        verify(jdbcTemplate, times(1)).query(any(String.class), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void olderSnapshotDoesNotLowerTheTokenVersion() {
+        Entry revoked = new Entry(7L, "tech@example.com", "Tech Seven", UserRole.TECH, 1);
+        when(jdbcTemplate.query(contains("WHERE id"), any(RowMapper.class), eq(7L))).thenReturn(List.of(revoked));
+        when(jdbcTemplate.query(any(String.class), any(RowMapper.class))).thenReturn(List.of(TECH));
+        directory.reload(7L);
+
+        // a full reload whose snapshot was read before the version bump
+        directory.reloadAll();
+
+        assertThat(directory.findById(7L)).contains(revoked);
+        assertThat(directory.findByEmail("tech@example.com")).contains(revoked);
+    }
+
+    @Test
+    void truncateNotificationDropsRemovedUsers() {
+        when(jdbcTemplate.query(any(String.class), any(RowMapper.class))).thenReturn(List.of(TECH), List.of());
+        when(jdbcTemplate.query(contains("WHERE id"), any(RowMapper.class), eq(7L))).thenReturn(List.of());
+        directory.reloadAll();
+
+        directory.handleNotification(UserDirectory.RELOAD_ALL);
+
+        assertThat(directory.findById(7L)).isEmpty();
+    }
+}
@@ -1,13 +1,23 @@
-import { HttpInterceptorFn } from '@angular/common/http';
+import { HttpErrorResponse, HttpInterceptorFn } from '@angular/common/http';
 import { inject } from '@angular/core';
+import { catchError, from, switchMap, throwError } from 'rxjs';
 import { AuthService } from './auth.service';
 
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
-  let request = req.clone({ withCredentials: true });
-  const token = authService.token();
-  if (token) {
-    request = request.clone({ setHeaders: { Authorization: `Bearer ${token}` } });
-  }
-  return next(request);
+  const withToken = (token: string | null) => {
+    const request = req.clone({ withCredentials: true });
+    return token ? request.clone({ setHeaders: { Authorization: `Bearer ${token}` } }) : request;
+  };
+  return next(withToken(authService.token())).pipe(
+    catchError((error: unknown) => {
+      // access tokens are short-lived: renew once through the refresh cookie, then replay the request
+      if (!(error instanceof HttpErrorResponse) || error.status !== 401 || req.url.startsWith('/api/auth/')) {
+        return throwError(() => error);
+      }
+      return from(authService.refresh()).pipe(
+        switchMap((refreshed) => (refreshed ? next(withToken(authService.token())) : throwError(() => error)))
+      );
+    })
+  );
 };
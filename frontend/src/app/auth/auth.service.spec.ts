@@ -40,10 +40,26 @@ describe('AuthService', () => {
     const ensurePromise = service.ensureSessionInitialized();
     const request = http.expectOne('/api/auth/session');
     request.flush({}, { status: 401, statusText: 'Unauthorized' });
+    await new Promise((resolve) => setTimeout(resolve));
+    const refreshRequest = http.expectOne('/api/auth/refresh');
+    refreshRequest.flush({}, { status: 401, statusText: 'Unauthorized' });
     await ensurePromise;
     expect(service.isAuthenticated()).toBeFalse();
   });
 
+  it('restores an expired session with the refresh cookie', async () => {
+    const ensurePromise = service.ensureSessionInitialized();
+    http.expectOne('/api/auth/session').flush({}, { status: 401, statusText: 'Unauthorized' });
+    await new Promise((resolve) => setTimeout(resolve));
+    const refreshRequest = http.expectOne('/api/auth/refresh');
+    expect(refreshRequest.request.method).toBe('POST');
+    refreshRequest.flush({ token: 'renewed-token', email: 'admin@sip.local', role: 'ADMIN' });
+    await ensurePromise;
+
+    expect(service.token()).toBe('renewed-token');
+    expect(service.isAuthenticated()).toBeTrue();
+  });
+
   it('clears the session after changing password', async () => {
     const loginPromise = service.login('admin@sip.local', 'Admin123!');
     const loginRequest = http.expectOne('/api/auth/login');
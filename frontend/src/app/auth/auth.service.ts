@@ -24,6 +24,7 @@ export class AuthService {
   private readonly emailSignal = signal<string | null>(null);
   private readonly authenticatedSignal = signal(false);
   private sessionInitPromise: Promise<void> | null = null;
+  private refreshPromise: Promise<boolean> | null = null;
   private sessionInitialized = false;
 
   async ensureSessionInitialized(): Promise<void> {
@@ -71,6 +72,32 @@ export class AuthService {
     this.sessionInitialized = true;
   }
 
+  /**
+   * Renews the access token with the refresh cookie. Concurrent callers share one request, since the server
+   * revokes the session when a refresh token is presented twice.
+   */
+  refresh(): Promise<boolean> {
+    if (!this.isBrowser) {
+      return Promise.resolve(false);
+    }
+    if (!this.refreshPromise) {
+      this.refreshPromise = firstValueFrom(this.http.post<LoginResponseDto>('/api/auth/refresh', {}))
+        .then((response) => {
+          this.tokenSignal.set(response.token ?? null);
+          this.applySession({ email: response.email, role: response.role });
+          return true;
+        })
+        .catch(() => {
+          this.resetSessionState();
+          return false;
+        })
+        .finally(() => {
+          this.refreshPromise = null;
+        });
+    }
+    return this.refreshPromise;
+  }
+
   async changePassword(currentPassword: string, newPassword: string): Promise<void> {
     await firstValueFrom(
       this.http.post<void>('/api/auth/change-password', {
@@ -101,8 +128,10 @@ export class AuthService {
       const session = await firstValueFrom(this.http.get<SessionResponseDto>('/api/auth/session'));
       this.applySession(session);
     } catch {
-      this.resetSessionState();
-      this.sessionInitialized = true;
+      if (!(await this.refresh())) {
+        this.resetSessionState();
+        this.sessionInitialized = true;
+      }
     }
   }
 
@@ -56,7 +56,7 @@ export interface ForecastResponse {
   method: string;
   smoothingFactor: number;
   lastObservedCount: number;
-  baselineAverage: number;
+  baselineLevel: number;
   points: ForecastPointResponse[];
 }
 
@@ -6,6 +6,7 @@ SET 'execution.checkpointing.interval' = '60 s';
 
 DROP TABLE IF EXISTS analytics_intervention_geo_view;
 DROP TABLE IF EXISTS analytics_intervention_technician_load;
+DROP TABLE IF EXISTS analytics_intervention_daily_technician_metrics;
 DROP TABLE IF EXISTS analytics_intervention_daily_metrics;
 DROP TABLE IF EXISTS intervention_events;
 
@@ -100,6 +101,26 @@ CREATE TABLE analytics_intervention_daily_metrics (
     'sink.buffer-flush.max-rows' = '1000'
 );
 
+CREATE TABLE analytics_intervention_daily_technician_metrics (
+    technician_id BIGINT,
+    metric_date DATE,
+    status STRING,
+    total_count BIGINT,
+    avg_completion_seconds DOUBLE,
+    validation_ratio DOUBLE,
+    last_refreshed_at TIMESTAMP(3),
+    PRIMARY KEY (technician_id, metric_date, status) NOT ENFORCED
+) WITH (
+    'connector' = 'jdbc',
+    'url' = 'jdbc:postgresql://db:5432/${POSTGRES_DB}',
+    'table-name' = 'analytics.intervention_daily_technician_metrics',
+    'username' = '${POSTGRES_USER}',
+    'password' = '${POSTGRES_PASSWORD}',
+    'driver' = 'org.postgresql.Driver',
+    'sink.buffer-flush.interval' = '5 s',
+    'sink.buffer-flush.max-rows' = '1000'
+);
+
 CREATE TABLE analytics_intervention_technician_load (
     technician_id BIGINT,
     open_count BIGINT,
@@ -186,6 +207,60 @@ SELECT
 FROM daily_status_counts c
 LEFT JOIN daily_completion_summary summary ON summary.metric_date = c.metric_date;
 
+CREATE TEMPORARY VIEW technician_daily_status_counts AS
+SELECT
+    technician_id,
+    CAST(
+        COALESCE(planned_at, started_at, created_at, event_ts)
+        AS DATE
+    ) AS metric_date,
+    status,
+    COUNT(*) AS total_count,
+    AVG(
+        CASE
+            WHEN completed_at IS NOT NULL AND started_at IS NOT NULL
+                THEN TIMESTAMPDIFF(SECOND, started_at, completed_at)
+            ELSE NULL
+        END
+    ) AS avg_completion_seconds,
+    MAX(event_ts) AS last_event_ts
+FROM intervention_events_current
+WHERE technician_id IS NOT NULL
+GROUP BY
+    technician_id,
+    CAST(
+        COALESCE(planned_at, started_at, created_at, event_ts)
+        AS DATE
+    ),
+    status;
+
+CREATE TEMPORARY VIEW technician_daily_completion_summary AS
+SELECT
+    technician_id,
+    metric_date,
+    SUM(CASE WHEN status IN ('COMPLETED', 'VALIDATED') THEN total_count ELSE 0 END) AS completed_total,
+    SUM(CASE WHEN status = 'VALIDATED' THEN total_count ELSE 0 END) AS validated_total,
+    MAX(last_event_ts) AS last_event_ts
+FROM technician_daily_status_counts
+GROUP BY technician_id, metric_date;
+
+INSERT INTO analytics_intervention_daily_technician_metrics
+SELECT
+    c.technician_id,
+    c.metric_date,
+    c.status,
+    c.total_count,
+    c.avg_completion_seconds,
+    CASE
+        WHEN c.status = 'VALIDATED' AND summary.completed_total > 0
+            THEN (summary.validated_total * 100.0) / summary.completed_total
+        ELSE NULL
+    END AS validation_ratio,
+    CAST(COALESCE(summary.last_event_ts, CURRENT_TIMESTAMP) AS TIMESTAMP(3)) AS last_refreshed_at
+FROM technician_daily_status_counts c
+LEFT JOIN technician_daily_completion_summary summary
+    ON summary.technician_id = c.technician_id AND summary.metric_date = c.metric_date;
+
 INSERT INTO analytics_intervention_technician_load
 SELECT
     technician_id,